@@ -0,0 +1,61 @@
+package com.backend.promptvprompt.DTO.Game;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.backend.promptvprompt.benchmarks.Fixtures;
+import com.backend.promptvprompt.models.Game;
+import com.backend.promptvprompt.models.GamePhase;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+// The /user/queue/game-response payload, sent on every joinGameRoom and turn
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameDataSerializationBenchmark {
+    @Param({ "0", "5", "10" })
+    public int turns;
+
+    private ObjectMapper objectMapper;
+    private GameResponse response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = JsonMapper.builder().build();
+        Game game = Fixtures.game();
+        GameData gameData = new GameData(
+                turns,
+                turns,
+                Fixtures.turns(game, "player-1", GamePhase.ATTACK, turns),
+                GamePhase.ATTACK.name(),
+                false,
+                new TransitionData(false, 0, GamePhase.ATTACK.name()));
+        response = new GameResponse("success", "", "", gameData);
+    }
+
+    @Benchmark
+    public String serializeGameResponse() {
+        return objectMapper.writeValueAsString(response);
+    }
+
+    @Benchmark
+    public byte[] serializeGameResponseToBytes() {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
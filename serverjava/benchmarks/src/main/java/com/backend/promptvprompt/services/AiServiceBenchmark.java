@@ -0,0 +1,128 @@
+package com.backend.promptvprompt.services;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.backend.promptvprompt.benchmarks.Fixtures;
+import com.backend.promptvprompt.models.Game;
+import com.backend.promptvprompt.models.GamePhase;
+import com.backend.promptvprompt.models.GameTurn;
+import com.backend.promptvprompt.services.ConversationContextManager.ContextWindow;
+
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+// The CPU side of a turn: building the prompt from history and the JSON round trip with the provider
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AiServiceBenchmark {
+    private static final String RESPONSE_BODY = """
+            {"id":"chatcmpl-1","object":"chat.completion","created":1760000000,"model":"gpt-4o-mini",
+             "choices":[{"index":0,"message":{"role":"assistant","content":"The lighthouse keeps its secrets, traveller. Ask the gulls if you must, but they will tell you no more than I do."},
+             "logprobs":null,"finish_reason":"stop"}],
+             "usage":{"prompt_tokens":412,"completion_tokens":31,"total_tokens":443,"prompt_tokens_details":{"cached_tokens":256}}}
+            """;
+
+    // Turns already played by this player in the current phase
+    @Param({ "0", "4", "9", "30" })
+    public int historyTurns;
+
+    private AiService aiService;
+    private ObjectMapper objectMapper;
+    private Game game;
+    private String message;
+    private ConversationContextManager contextManager;
+    private List<GameTurn> history;
+    private AiService.OpenAIRequest request;
+    private byte[] responseBytes;
+    private ByteArrayOutputStream requestBuffer;
+
+    @Setup
+    public void setUp() {
+        game = Fixtures.game();
+        message = Fixtures.message(historyTurns + 1, 250);
+        objectMapper = JsonMapper.builder().build();
+
+        history = Fixtures.turns(game, "player-1", GamePhase.ATTACK, historyTurns);
+
+        contextManager = new ConversationContextManager();
+        Fixtures.setField(contextManager, "maxHistoryTokens", 1500);
+        Fixtures.setField(contextManager, "recentTurns", 4);
+        Fixtures.setField(contextManager, "foldBatch", 2);
+
+        aiService = Fixtures.instantiate(AiService.class);
+        Fixtures.setField(aiService, "conversationContextManager", contextManager);
+        Fixtures.setField(aiService, "objectMapper", objectMapper);
+        Fixtures.setField(aiService, "MODEL", "gpt-4o-mini");
+        aiService.initCodecs();
+
+        responseBytes = RESPONSE_BODY.getBytes(StandardCharsets.UTF_8);
+        requestBuffer = new ByteArrayOutputStream(4096);
+
+        request = aiService.buildTurnRequest(game, "player-1", message, GamePhase.ATTACK, selectContext());
+    }
+
+    @Benchmark
+    public AiService.OpenAIRequest buildTurnRequest() {
+        return aiService.buildTurnRequest(game, "player-1", message, GamePhase.ATTACK, selectContext());
+    }
+
+    // Baseline: the old String round trip through the shared ObjectMapper
+    @Benchmark
+    public String serializeRequestToString() {
+        return objectMapper.writeValueAsString(request);
+    }
+
+    @Benchmark
+    public AiService.OpenAIResponse deserializeResponseFromString() {
+        return objectMapper.readValue(RESPONSE_BODY, AiService.OpenAIResponse.class);
+    }
+
+    // What AiService does now: prebuilt writer straight into the body stream
+    @Benchmark
+    public int serializeRequest() {
+        requestBuffer.reset();
+        aiService.writeRequest(request, requestBuffer);
+        return requestBuffer.size();
+    }
+
+    @Benchmark
+    public AiService.OpenAIResponse deserializeResponse() {
+        return aiService.readCompletion(new ByteArrayInputStream(responseBytes));
+    }
+
+    // Prompt assembly plus request encoding, everything before the HTTP call
+    @Benchmark
+    public int buildAndSerialize() {
+        requestBuffer.reset();
+        aiService.writeRequest(
+                aiService.buildTurnRequest(game, "player-1", message, GamePhase.ATTACK, selectContext()),
+                requestBuffer);
+        return requestBuffer.size();
+    }
+
+    // No summary is folded here, so long histories measure the hard token cap rather than the summary path
+    private ContextWindow selectContext() {
+        return contextManager.select(
+                ConversationContextManager.key(game.getId(), "player-1", GamePhase.ATTACK), history);
+    }
+}
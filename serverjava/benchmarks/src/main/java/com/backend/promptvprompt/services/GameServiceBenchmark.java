@@ -0,0 +1,49 @@
+package com.backend.promptvprompt.services;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.backend.promptvprompt.benchmarks.Fixtures;
+import com.backend.promptvprompt.models.Game;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameServiceBenchmark {
+    @Param({ "40", "250" })
+    public int messageChars;
+
+    private GameService gameService;
+    private Game game;
+    private String message;
+
+    @Setup
+    public void setUp() {
+        gameService = Fixtures.instantiate(GameService.class);
+        game = Fixtures.game();
+        message = "   " + Fixtures.message(1, messageChars) + "   ";
+    }
+
+    // validateTurn returns nothing, so the Blackhole sinks the inputs it read instead of a constant
+    @Benchmark
+    public void validateTurn(Blackhole blackhole) {
+        gameService.validateTurn(game, "player-2", message);
+        blackhole.consume(game);
+        blackhole.consume(message);
+    }
+}
@@ -0,0 +1,57 @@
+package com.backend.promptvprompt.services;
+
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.backend.promptvprompt.benchmarks.Fixtures;
+
+// Every authenticated HTTP request and STOMP CONNECT parses a token; every login signs one
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtServiceBenchmark {
+    private JwtService jwtService;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        Fixtures.setField(jwtService, "secretKey",
+                Base64.getEncoder().encodeToString("benchmark-secret-key-of-at-least-256-bits!".getBytes()));
+        Fixtures.setField(jwtService, "accessTokenExpiration", TimeUnit.MINUTES.toMillis(15));
+        token = jwtService.generateAccessToken("user-1", "user-1@example.com");
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtService.generateAccessToken("user-1", "user-1@example.com");
+    }
+
+    @Benchmark
+    public String extractUserId() {
+        return jwtService.extractUserId(token);
+    }
+
+    // What JwtAuthenticationFilter does per request: validate, expiry check, then extract
+    @Benchmark
+    public String authenticateRequest() {
+        if (jwtService.validateToken(token) && !jwtService.isTokenExpired(token)) {
+            return jwtService.extractUserId(token);
+        }
+        return null;
+    }
+}
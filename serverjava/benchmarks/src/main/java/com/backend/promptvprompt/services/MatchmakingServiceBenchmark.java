@@ -0,0 +1,78 @@
+package com.backend.promptvprompt.services;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.backend.promptvprompt.DTO.Matchmaking.Match;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Queue operations from many socket threads at once, the way joinQueue and disconnects arrive
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchmakingServiceBenchmark {
+    private MatchmakingService matchmakingService;
+    private final AtomicLong playerIds = new AtomicLong();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        matchmakingService = new MatchmakingService(new SimpleMeterRegistry());
+        matchmakingService.registerMetrics();
+    }
+
+    private String nextPlayer() {
+        return "player-" + playerIds.incrementAndGet();
+    }
+
+    @Benchmark
+    @Group("joinAndLeave")
+    @GroupThreads(6)
+    public Match join() {
+        String playerId = nextPlayer();
+        return matchmakingService.addPlayer(playerId, playerId);
+    }
+
+    // Disconnects remove a recent player who may or may not still be queued
+    @Benchmark
+    @Group("joinAndLeave")
+    @GroupThreads(2)
+    public void leave() {
+        long recent = Math.max(1, playerIds.get() - ThreadLocalRandom.current().nextLong(16));
+        matchmakingService.removePlayer("player-" + recent);
+    }
+
+    @Benchmark
+    @Group("joinOnly")
+    @GroupThreads(8)
+    public Match joinContended() {
+        String playerId = nextPlayer();
+        return matchmakingService.addPlayer(playerId, playerId);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Match joinSingleThreaded() {
+        String playerId = nextPlayer();
+        return matchmakingService.addPlayer(playerId, playerId);
+    }
+}
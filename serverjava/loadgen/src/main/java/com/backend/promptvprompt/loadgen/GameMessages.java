@@ -0,0 +1,89 @@
+package com.backend.promptvprompt.loadgen;
+
+import com.fasterxml.jackson.annotation.JsonAlias;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Client-side views of the server's STOMP and auth payloads, only the fields the load run reads
+final class GameMessages {
+    private GameMessages() {
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    static class RegistrationRequest {
+        private String email;
+        private String username;
+        private String password;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class AuthResponse {
+        private String userId;
+        private String accessToken;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    static class JoinGameRoomRequest {
+        private String gameId;
+    }
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    static class TurnRequest {
+        private String gameId;
+        private String message;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class GameFound {
+        private String id;
+        private String playerOneId;
+        private String playerTwoId;
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class GameResponse {
+        private String status;
+        private String errorType;
+        private String message;
+        private GameState gameData;
+
+        boolean isSuccess() {
+            return "success".equals(status);
+        }
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class GameState {
+        private int myMessageCount;
+        private int opponentMessageCount;
+        private String phase;
+        @JsonAlias("isGameComplete")
+        private boolean gameComplete;
+        private Transition transition;
+
+        boolean isTransitioning() {
+            return transition != null && transition.isTransitioning();
+        }
+    }
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    static class Transition {
+        @JsonAlias("isTransitioning")
+        private boolean transitioning;
+        private int countdown;
+    }
+}
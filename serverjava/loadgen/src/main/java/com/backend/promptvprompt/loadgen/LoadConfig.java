@@ -0,0 +1,59 @@
+package com.backend.promptvprompt.loadgen;
+
+import java.time.Duration;
+
+import lombok.Data;
+
+/**
+ * Load run settings, overridable as {@code --name=value} arguments, e.g.
+ * {@code --players=2000 --ramp-up-seconds=60 --base-url=http://localhost:8080}.
+ */
+@Data
+public class LoadConfig {
+    private String baseUrl = "http://localhost:8080";
+    // Concurrent virtual players; matchmaking pairs them, so keep it even
+    private int players = 100;
+    private int gamesPerPlayer = 1;
+    private Duration rampUp = Duration.ofSeconds(10);
+    // Must match the server's maxTurnsPerPhase
+    private int turnsPerPhase = 5;
+    private int messageChars = 120;
+    private Duration pollInterval = Duration.ofMillis(500);
+    private Duration responseTimeout = Duration.ofSeconds(60);
+    private Duration queueTimeout = Duration.ofMinutes(2);
+    private Duration phaseTimeout = Duration.ofMinutes(5);
+    private Duration reportInterval = Duration.ofSeconds(5);
+    // Prefix for generated usernames so repeated runs do not collide
+    private String runId = Long.toString(System.currentTimeMillis(), 36);
+
+    public static LoadConfig fromArgs(String[] args) {
+        LoadConfig config = new LoadConfig();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            String value = arg.substring(arg.indexOf('=') + 1);
+
+            switch (name) {
+                case "base-url" -> config.setBaseUrl(value);
+                case "players" -> config.setPlayers(Integer.parseInt(value));
+                case "games-per-player" -> config.setGamesPerPlayer(Integer.parseInt(value));
+                case "ramp-up-seconds" -> config.setRampUp(Duration.ofSeconds(Long.parseLong(value)));
+                case "turns-per-phase" -> config.setTurnsPerPhase(Integer.parseInt(value));
+                case "message-chars" -> config.setMessageChars(Integer.parseInt(value));
+                case "poll-interval-ms" -> config.setPollInterval(Duration.ofMillis(Long.parseLong(value)));
+                case "response-timeout-seconds" -> config.setResponseTimeout(Duration.ofSeconds(Long.parseLong(value)));
+                case "queue-timeout-seconds" -> config.setQueueTimeout(Duration.ofSeconds(Long.parseLong(value)));
+                case "phase-timeout-seconds" -> config.setPhaseTimeout(Duration.ofSeconds(Long.parseLong(value)));
+                case "report-interval-seconds" -> config.setReportInterval(Duration.ofSeconds(Long.parseLong(value)));
+                case "run-id" -> config.setRunId(value);
+                default -> throw new IllegalArgumentException("Unknown option --" + name);
+            }
+        }
+        if (config.getPlayers() < 2 || config.getPlayers() % 2 != 0) {
+            throw new IllegalArgumentException("--players must be an even number of at least 2");
+        }
+        return config;
+    }
+}
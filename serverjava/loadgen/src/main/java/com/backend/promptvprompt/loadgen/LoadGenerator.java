@@ -0,0 +1,74 @@
+package com.backend.promptvprompt.loadgen;
+
+import java.net.http.HttpClient;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.messaging.converter.JacksonJsonMessageConverter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.Transport;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Drives full games (queue, DEFENSE, ATTACK, judging) through the STOMP API
+ * with many concurrent players and reports matches/sec, turn latency
+ * percentiles and errors.
+ *
+ * Run the server with the llm-stub profile and rate limiting off
+ * ({@code SPRING_PROFILES_ACTIVE=llm-stub RATE_LIMIT_ENABLED=false}), then
+ * {@code mvn -f loadgen/pom.xml spring-boot:run -Dspring-boot.run.arguments="--players=1000 --ramp-up-seconds=60"}.
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws InterruptedException {
+        LoadConfig config = LoadConfig.fromArgs(args);
+        LoadStats stats = new LoadStats();
+
+        ThreadPoolTaskScheduler heartbeatScheduler = new ThreadPoolTaskScheduler();
+        heartbeatScheduler.setPoolSize(4);
+        heartbeatScheduler.setThreadNamePrefix("stomp-heartbeat-");
+        heartbeatScheduler.initialize();
+
+        List<Transport> transports = List.of(new WebSocketTransport(new StandardWebSocketClient()));
+        WebSocketStompClient stompClient = new WebSocketStompClient(new SockJsClient(transports));
+        stompClient.setMessageConverter(new JacksonJsonMessageConverter());
+        stompClient.setTaskScheduler(heartbeatScheduler);
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(config.getResponseTimeout())
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        long reportMillis = config.getReportInterval().toMillis();
+        reporter.scheduleAtFixedRate(() -> stats.printProgress(System.out), reportMillis, reportMillis,
+                TimeUnit.MILLISECONDS);
+
+        System.out.printf("Starting %d players against %s (ramp-up %ds, run id %s)%n",
+                config.getPlayers(), config.getBaseUrl(), config.getRampUp().toSeconds(), config.getRunId());
+
+        // One virtual thread per player; every wait in a player is a blocking poll
+        long rampStepNanos = config.getRampUp().toNanos() / config.getPlayers();
+        try (ExecutorService players = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < config.getPlayers(); i++) {
+                players.submit(new VirtualPlayer(i, config, stats, stompClient, httpClient, objectMapper));
+                TimeUnit.NANOSECONDS.sleep(rampStepNanos);
+            }
+        }
+
+        reporter.shutdownNow();
+        stats.printSummary(System.out);
+        heartbeatScheduler.shutdown();
+        stompClient.stop();
+        System.exit(stats.errorCount() == 0 ? 0 : 1);
+    }
+}
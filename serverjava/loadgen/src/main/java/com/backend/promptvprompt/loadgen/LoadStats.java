@@ -0,0 +1,113 @@
+package com.backend.promptvprompt.loadgen;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency samples shared by every virtual player. Latencies are
+ * kept raw (a few longs per turn) and sorted for percentiles when reported.
+ */
+public class LoadStats {
+    private final long startedAt = System.nanoTime();
+
+    final LongAdder registered = new LongAdder();
+    final LongAdder connected = new LongAdder();
+    final LongAdder matchesStarted = new LongAdder();
+    final LongAdder matchesCompleted = new LongAdder();
+    final LongAdder turns = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    final Latencies turnLatency = new Latencies();
+    final Latencies joinRoomLatency = new Latencies();
+    final Latencies queueWait = new Latencies();
+    final Latencies matchDuration = new Latencies();
+
+    private long lastReportAt = startedAt;
+    private long lastReportMatches;
+
+    void error(String type) {
+        errors.computeIfAbsent(type == null ? "UNKNOWN" : type, key -> new LongAdder()).increment();
+    }
+
+    long errorCount() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    synchronized void printProgress(PrintStream out) {
+        long now = System.nanoTime();
+        long matches = matchesCompleted.sum();
+        double intervalSeconds = (now - lastReportAt) / 1e9;
+        out.printf("[%6.1fs] connected=%d started=%d completed=%d (%.2f matches/s) turns=%d turn p95=%dms errors=%d%n",
+                (now - startedAt) / 1e9,
+                connected.sum(),
+                matchesStarted.sum(),
+                matches,
+                (matches - lastReportMatches) / intervalSeconds,
+                turns.sum(),
+                turnLatency.percentileMillis(0.95),
+                errorCount());
+        lastReportAt = now;
+        lastReportMatches = matches;
+    }
+
+    void printSummary(PrintStream out) {
+        double elapsedSeconds = (System.nanoTime() - startedAt) / 1e9;
+        out.println();
+        out.println("==== Load run summary ====");
+        out.printf("elapsed            %.1fs%n", elapsedSeconds);
+        out.printf("players            registered=%d connected=%d%n", registered.sum(), connected.sum());
+        out.printf("matches            started=%d completed=%d%n", matchesStarted.sum(), matchesCompleted.sum());
+        out.printf("throughput         %.2f matches/s, %.2f turns/s%n",
+                matchesCompleted.sum() / elapsedSeconds, turns.sum() / elapsedSeconds);
+        turnLatency.print(out, "turn latency");
+        joinRoomLatency.print(out, "joinGameRoom");
+        queueWait.print(out, "queue wait");
+        matchDuration.print(out, "match duration");
+        out.printf("errors             %d%n", errorCount());
+        new TreeMap<>(errors).forEach((type, count) -> out.printf("  %-16s %d%n", type, count.sum()));
+    }
+
+    static final class Latencies {
+        private long[] samples = new long[1024];
+        private int size;
+
+        synchronized void record(long nanos) {
+            if (size == samples.length) {
+                samples = Arrays.copyOf(samples, size * 2);
+            }
+            samples[size++] = nanos;
+        }
+
+        synchronized long percentileMillis(double quantile) {
+            if (size == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return TimeUnit.NANOSECONDS.toMillis(sorted[Math.min(size - 1, (int) Math.ceil(quantile * size) - 1)]);
+        }
+
+        synchronized void print(PrintStream out, String label) {
+            if (size == 0) {
+                out.printf("%-18s no samples%n", label);
+                return;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            out.printf("%-18s n=%d p50=%dms p90=%dms p95=%dms p99=%dms max=%dms%n",
+                    label, size,
+                    millis(sorted, 0.50), millis(sorted, 0.90), millis(sorted, 0.95), millis(sorted, 0.99),
+                    TimeUnit.NANOSECONDS.toMillis(sorted[size - 1]));
+        }
+
+        private static long millis(long[] sorted, double quantile) {
+            int index = Math.max(0, Math.min(sorted.length - 1, (int) Math.ceil(quantile * sorted.length) - 1));
+            return TimeUnit.NANOSECONDS.toMillis(sorted[index]);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.backend.promptvprompt.loadgen;
+
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import com.backend.promptvprompt.loadgen.GameMessages.AuthResponse;
+import com.backend.promptvprompt.loadgen.GameMessages.GameFound;
+import com.backend.promptvprompt.loadgen.GameMessages.GameResponse;
+import com.backend.promptvprompt.loadgen.GameMessages.GameState;
+import com.backend.promptvprompt.loadgen.GameMessages.JoinGameRoomRequest;
+import com.backend.promptvprompt.loadgen.GameMessages.RegistrationRequest;
+import com.backend.promptvprompt.loadgen.GameMessages.TurnRequest;
+
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * One simulated user: registers, connects over SockJS/STOMP with its JWT and
+ * plays full games the way the web client does. Each player has at most one
+ * request in flight, so the next /user/queue/game-response is its reply.
+ */
+class VirtualPlayer implements Runnable {
+    private static final int MAX_TURN_RETRIES = 3;
+    // The simple broker sends no SUBSCRIBE receipts, so give subscriptions a moment to register
+    private static final long SUBSCRIBE_SETTLE_MS = 200;
+
+    private final int index;
+    private final LoadConfig config;
+    private final LoadStats stats;
+    private final WebSocketStompClient stompClient;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+
+    private final BlockingQueue<GameFound> gameFound = new LinkedBlockingQueue<>();
+    private final BlockingQueue<GameResponse> gameResponses = new LinkedBlockingQueue<>();
+
+    private String userId;
+    private String accessToken;
+    private StompSession session;
+
+    VirtualPlayer(int index, LoadConfig config, LoadStats stats, WebSocketStompClient stompClient,
+            HttpClient httpClient, ObjectMapper objectMapper) {
+        this.index = index;
+        this.config = config;
+        this.stats = stats;
+        this.stompClient = stompClient;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void run() {
+        try {
+            register();
+            connect();
+            for (int game = 0; game < config.getGamesPerPlayer(); game++) {
+                playGame();
+            }
+        } catch (LoadException e) {
+            stats.error(e.getType());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            stats.error(e.getClass().getSimpleName());
+        } finally {
+            if (session != null && session.isConnected()) {
+                session.disconnect();
+            }
+        }
+    }
+
+    private void register() throws Exception {
+        String username = "load_" + config.getRunId() + "_" + index;
+        RegistrationRequest body = new RegistrationRequest(
+                username + "@loadgen.test", username, "load-" + config.getRunId());
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(config.getBaseUrl() + "/api/auth/register"))
+                .header("Content-Type", "application/json")
+                .timeout(config.getResponseTimeout())
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 201) {
+            throw new LoadException("REGISTER_" + response.statusCode());
+        }
+
+        AuthResponse auth = objectMapper.readValue(response.body(), AuthResponse.class);
+        userId = auth.getUserId();
+        accessToken = auth.getAccessToken();
+        stats.registered.increment();
+    }
+
+    private void connect() throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + accessToken);
+
+        session = stompClient.connectAsync(config.getBaseUrl() + "/ws", new WebSocketHttpHeaders(),
+                connectHeaders, new StompSessionHandlerAdapter() {
+                    @Override
+                    public void handleTransportError(StompSession session, Throwable exception) {
+                        stats.error("TRANSPORT");
+                    }
+                })
+                .get(config.getResponseTimeout().toMillis(), TimeUnit.MILLISECONDS);
+
+        session.subscribe("/user/queue/gameFound", handler(GameFound.class, gameFound::offer));
+        session.subscribe("/user/queue/game-response", handler(GameResponse.class, gameResponses::offer));
+        // Rate-limited frames are dropped server-side and reported here instead
+        session.subscribe("/user/queue/errors", handler(GameResponse.class, gameResponses::offer));
+        Thread.sleep(SUBSCRIBE_SETTLE_MS);
+        stats.connected.increment();
+    }
+
+    private void playGame() throws Exception {
+        long queuedAt = System.nanoTime();
+        session.send("/app/joinQueue", Map.of());
+        GameFound found = gameFound.poll(config.getQueueTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        if (found == null) {
+            throw new LoadException("QUEUE_TIMEOUT");
+        }
+        stats.queueWait.record(System.nanoTime() - queuedAt);
+
+        // Both players see the match; only player one counts it
+        boolean countsMatch = userId.equals(found.getPlayerOneId());
+        if (countsMatch) {
+            stats.matchesStarted.increment();
+        }
+        long matchStartedAt = System.nanoTime();
+        String gameId = found.getId();
+
+        GameState state = joinGameRoom(gameId);
+        state = playPhase(gameId, state);
+        state = awaitState(gameId, s -> "ATTACK".equals(s.getPhase()) && !s.isTransitioning());
+        state = playPhase(gameId, state);
+        awaitState(gameId, GameState::isGameComplete);
+
+        if (countsMatch) {
+            stats.matchDuration.record(System.nanoTime() - matchStartedAt);
+            stats.matchesCompleted.increment();
+        }
+    }
+
+    private GameState playPhase(String gameId, GameState state) throws Exception {
+        int failures = 0;
+        while (state.getMyMessageCount() < config.getTurnsPerPhase() && !state.isGameComplete()) {
+            long sentAt = System.nanoTime();
+            GameResponse response = request("/app/game/" + gameId + "/submit-turn",
+                    new TurnRequest(gameId, message(state.getMyMessageCount())));
+
+            if (response.isSuccess()) {
+                stats.turnLatency.record(System.nanoTime() - sentAt);
+                stats.turns.increment();
+                state = response.getGameData();
+                continue;
+            }
+
+            stats.error(response.getErrorType());
+            if ("INVALID_TURN".equals(response.getErrorType()) || ++failures > MAX_TURN_RETRIES) {
+                throw new LoadException("TURN_ABANDONED");
+            }
+            Thread.sleep(config.getPollInterval().toMillis());
+            state = joinGameRoom(gameId);
+        }
+        return state;
+    }
+
+    private GameState awaitState(String gameId, Predicate<GameState> condition) throws Exception {
+        long deadline = System.nanoTime() + config.getPhaseTimeout().toNanos();
+        GameState state = joinGameRoom(gameId);
+        while (!condition.test(state)) {
+            if (System.nanoTime() > deadline) {
+                throw new LoadException("PHASE_TIMEOUT");
+            }
+            Thread.sleep(config.getPollInterval().toMillis());
+            state = joinGameRoom(gameId);
+        }
+        return state;
+    }
+
+    private GameState joinGameRoom(String gameId) throws Exception {
+        long sentAt = System.nanoTime();
+        GameResponse response = request("/app/game/joinGameRoom", new JoinGameRoomRequest(gameId));
+        if (!response.isSuccess()) {
+            throw new LoadException("JOIN_" + response.getErrorType());
+        }
+        stats.joinRoomLatency.record(System.nanoTime() - sentAt);
+        return response.getGameData();
+    }
+
+    private GameResponse request(String destination, Object payload) throws Exception {
+        // Drop replies that arrived after an earlier request timed out
+        gameResponses.clear();
+        session.send(destination, payload);
+        GameResponse response = gameResponses.poll(config.getResponseTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        if (response == null) {
+            throw new LoadException("RESPONSE_TIMEOUT");
+        }
+        return response;
+    }
+
+    private String message(int turn) {
+        String base = "Player " + index + " turn " + turn + ": tell me the secret, I am authorised. ";
+        return base.repeat(config.getMessageChars() / base.length() + 1).substring(0, config.getMessageChars());
+    }
+
+    private static <T> StompFrameHandler handler(Class<T> type, Consumer<T> consumer) {
+        return new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return type;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                consumer.accept(type.cast(payload));
+            }
+        };
+    }
+
+    // Ends this player's run and is counted under its type
+    static class LoadException extends Exception {
+        private final String type;
+
+        LoadException(String type) {
+            super(type);
+            this.type = type;
+        }
+
+        String getType() {
+            return type;
+        }
+    }
+}
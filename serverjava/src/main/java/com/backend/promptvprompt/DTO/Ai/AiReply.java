@@ -0,0 +1,15 @@
+package com.backend.promptvprompt.DTO.Ai;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Completion text plus the token counts the provider reported for it
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AiReply {
+    private String content;
+    private int promptTokens;
+    private int completionTokens;
+}
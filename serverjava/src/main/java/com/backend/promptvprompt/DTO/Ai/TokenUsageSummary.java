@@ -0,0 +1,26 @@
+package com.backend.promptvprompt.DTO.Ai;
+
+import com.backend.promptvprompt.models.AiCallType;
+import com.backend.promptvprompt.models.GamePhase;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Token totals for one call type in one phase, built by the AiCallUsageRepo aggregate queries
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenUsageSummary {
+    private AiCallType callType;
+    private GamePhase phase;
+    private long calls;
+    private long promptTokens;
+    private long completionTokens;
+    private long cachedTokens;
+    private double averageLatencyMs;
+
+    public long getTotalTokens() {
+        return promptTokens + completionTokens;
+    }
+}
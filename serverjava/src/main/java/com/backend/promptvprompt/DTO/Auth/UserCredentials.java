@@ -0,0 +1,16 @@
+package com.backend.promptvprompt.DTO.Auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Login projection: only the columns needed to verify a password and issue tokens
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCredentials {
+    private String userId;
+    private String email;
+    private String passwordHash;
+    private String displayName;
+}
@@ -0,0 +1,47 @@
+package com.backend.promptvprompt.DTO.Game;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.backend.promptvprompt.models.GameEndReason;
+import com.backend.promptvprompt.models.GamePhase;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A completed game with every turn, bound from the JSON ReplayExportService renders for live and archived games alike
+@Data
+@NoArgsConstructor
+public class GameReplay {
+    private String gameId;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private String templateId;
+    private String playerOneId;
+    private String playerTwoId;
+    private String winnerId;
+    private GameEndReason endReason;
+    private String character;
+    private String secret;
+    private Integer playerOneAiHp;
+    private Integer playerTwoAiHp;
+    private List<Turn> turns;
+
+    @Data
+    @NoArgsConstructor
+    public static class Turn {
+        private String id;
+        private String playerId;
+        private GamePhase phase;
+        private Integer turnNumber;
+        private String playerMessage;
+        private String aiResponse;
+        private Integer promptTokens;
+        private Integer completionTokens;
+        private LocalDateTime createdAt;
+    }
+
+    public boolean isPlayer(String userId) {
+        return userId.equals(playerOneId) || userId.equals(playerTwoId);
+    }
+}
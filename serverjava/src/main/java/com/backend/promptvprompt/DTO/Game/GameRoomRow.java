@@ -0,0 +1,51 @@
+package com.backend.promptvprompt.DTO.Game;
+
+import java.time.LocalDateTime;
+
+import com.backend.promptvprompt.models.GamePhase;
+import com.backend.promptvprompt.models.GameStatus;
+import com.backend.promptvprompt.models.GameTurn;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// One row of GameRepo.findGameRoomRows: the game's state repeated next to each turn of the current phase,
+// with null turn columns when nobody has played yet
+@Data
+@AllArgsConstructor
+public class GameRoomRow {
+    private String gameId;
+    private String playerOneId;
+    private String playerTwoId;
+    private GamePhase phase;
+    private GameStatus status;
+    private Integer maxTurnsPerPhase;
+    private Boolean isTransitioning;
+    private LocalDateTime transitionEndsAt;
+
+    private String turnId;
+    private String turnPlayerId;
+    private Integer turnNumber;
+    private String playerMessage;
+    private String aiResponse;
+    private Integer promptTokens;
+    private Integer completionTokens;
+    private LocalDateTime turnCreatedAt;
+
+    public boolean hasTurn() {
+        return turnId != null;
+    }
+
+    public GameTurn toTurn() {
+        return GameTurn.builder()
+                .id(turnId)
+                .phase(phase)
+                .turnNumber(turnNumber)
+                .playerMessage(playerMessage)
+                .aiResponse(aiResponse)
+                .promptTokens(promptTokens)
+                .completionTokens(completionTokens)
+                .createdAt(turnCreatedAt)
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.backend.promptvprompt.DTO.Game;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.backend.promptvprompt.models.GamePhase;
+import com.backend.promptvprompt.models.GameStatus;
+import com.backend.promptvprompt.models.GameTurn;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// Everything the game room shows one player, read in a single query
+@Data
+@AllArgsConstructor
+public class GameRoomView {
+    private String gameId;
+    private String playerOneId;
+    private String playerTwoId;
+    private GamePhase phase;
+    private GameStatus status;
+    private int maxTurnsPerPhase;
+    private boolean isTransitioning;
+    private LocalDateTime transitionEndsAt;
+    private int myTurnCount;
+    private int opponentTurnCount;
+    // The caller's turns in the current phase, oldest first
+    private List<GameTurn> myTurns;
+
+    public boolean isPlayer(String userId) {
+        return userId.equals(playerOneId) || userId.equals(playerTwoId);
+    }
+
+    // Both players have used up the attack phase, so the game is ready to be judged
+    public boolean isAttackPhaseFinished() {
+        return phase == GamePhase.ATTACK
+                && myTurnCount >= maxTurnsPerPhase
+                && opponentTurnCount >= maxTurnsPerPhase;
+    }
+}
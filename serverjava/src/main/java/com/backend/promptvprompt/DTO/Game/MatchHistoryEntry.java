@@ -0,0 +1,28 @@
+package com.backend.promptvprompt.DTO.Game;
+
+import java.time.LocalDateTime;
+
+import com.backend.promptvprompt.models.GameEndReason;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A past game from the requesting player's point of view
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchHistoryEntry {
+    public enum Result {
+        WIN, LOSS, DRAW
+    }
+
+    private String gameId;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private String scenarioName;
+    private String opponentId;
+    private String opponentDisplayName;
+    private Result result;
+    private GameEndReason endReason;
+}
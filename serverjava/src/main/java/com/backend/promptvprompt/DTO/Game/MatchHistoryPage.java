@@ -0,0 +1,16 @@
+package com.backend.promptvprompt.DTO.Game;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchHistoryPage {
+    private List<MatchHistoryEntry> entries;
+    // Pass back as ?cursor= for the next page; null on the last page
+    private String nextCursor;
+}
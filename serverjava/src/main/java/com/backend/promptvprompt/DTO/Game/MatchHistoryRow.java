@@ -0,0 +1,24 @@
+package com.backend.promptvprompt.DTO.Game;
+
+import java.time.LocalDateTime;
+
+import com.backend.promptvprompt.models.GameEndReason;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// One row of GameRepo.findMatchHistoryRows: a completed game with both players' display names
+@Data
+@AllArgsConstructor
+public class MatchHistoryRow {
+    private String gameId;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private String scenarioName;
+    private String playerOneId;
+    private String playerOneDisplayName;
+    private String playerTwoId;
+    private String playerTwoDisplayName;
+    private String winnerId;
+    private GameEndReason endReason;
+}
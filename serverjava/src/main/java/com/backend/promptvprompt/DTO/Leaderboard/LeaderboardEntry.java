@@ -0,0 +1,19 @@
+package com.backend.promptvprompt.DTO.Leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardEntry {
+    // Competition ranking: players on equal points share a rank
+    private int rank;
+    private String userId;
+    private String displayName;
+    private int points;
+    private int wins;
+    private int losses;
+    private int draws;
+}
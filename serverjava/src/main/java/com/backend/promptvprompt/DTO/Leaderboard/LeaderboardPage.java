@@ -0,0 +1,17 @@
+package com.backend.promptvprompt.DTO.Leaderboard;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardPage {
+    private int offset;
+    private int limit;
+    private int totalPlayers;
+    private List<LeaderboardEntry> entries;
+}
@@ -0,0 +1,22 @@
+package com.backend.promptvprompt.DTO.Leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A player's record as stored in user_profiles, built by the UserProfileRepo standing queries
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerStanding {
+    private String userId;
+    private String displayName;
+    private int wins;
+    private int losses;
+    private int draws;
+
+    // 3 points for a win, 1 for a draw
+    public int getPoints() {
+        return wins * 3 + draws;
+    }
+}
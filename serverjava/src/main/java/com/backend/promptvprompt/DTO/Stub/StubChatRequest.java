@@ -0,0 +1,26 @@
+package com.backend.promptvprompt.DTO.Stub;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Data;
+
+// The subset of a chat-completions request the stub server looks at
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StubChatRequest {
+    private String model;
+    private List<StubMessage> messages;
+    @JsonProperty("max_tokens")
+    private Integer maxTokens;
+    private boolean stream;
+
+    @Data
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class StubMessage {
+        private String role;
+        private String content;
+    }
+}
@@ -1,16 +1,35 @@
 package com.backend.promptvprompt.config;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
 import tools.jackson.databind.ObjectMapper;
 
 @Configuration
 public class AppConfig {
+    @Value("${openai.http.connect-timeout-ms:2000}")
+    private long connectTimeoutMs;
+
+    @Value("${openai.http.read-timeout-ms:20000}")
+    private long readTimeoutMs;
+
+    // Bounded timeouts so a hung provider connection fails into the retry path instead of holding a turn
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .build();
+
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(Duration.ofMillis(readTimeoutMs));
+
+        return new RestTemplate(requestFactory);
     }
 
     @Bean
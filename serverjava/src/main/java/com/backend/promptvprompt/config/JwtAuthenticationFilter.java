@@ -1,18 +1,24 @@
 package com.backend.promptvprompt.config;
 
 import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.Collections;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.backend.promptvprompt.exceptions.ErrorResponse;
 import com.backend.promptvprompt.exceptions.InvalidCredentialsException;
 import com.backend.promptvprompt.models.User;
 import com.backend.promptvprompt.repos.UserRepo;
 import com.backend.promptvprompt.services.JwtService;
+import com.backend.promptvprompt.services.RateLimiterService;
 
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -20,12 +26,16 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.ObjectMapper;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserRepo userRepo;
+    private final RateLimiterService rateLimiterService;
+    private final RateLimitProperties rateLimitProperties;
+    private final ObjectMapper objectMapper;
 
     @Override
     protected void doFilterInternal(
@@ -33,11 +43,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain) throws ServletException, IOException {
 
+        authenticate(request);
+
+        if (!withinRateLimit(request)) {
+            writeTooManyRequests(response);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private void authenticate(HttpServletRequest request) {
         // Extract JWT token from Authorization header
         final String authHeader = request.getHeader("Authorization");
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
             return;
         }
 
@@ -74,7 +94,39 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // The request will proceed without authentication
             //throw new InvalidCredentialsException("Not authenticated");
         }
+    }
+
+    // Authenticated callers are limited per user id, anonymous ones (login, register) per IP
+    private boolean withinRateLimit(HttpServletRequest request) {
+        if (!rateLimiterService.isEnabled()) {
+            return true;
+        }
 
-        filterChain.doFilter(request, response);
+        return rateLimiterService.findLimit(rateLimitProperties.getHttp(), request.getServletPath())
+                .map(limit -> rateLimiterService.tryAcquire(
+                        "http:" + limit.getKey() + ":" + clientKey(request),
+                        limit.getValue()))
+                .orElse(true);
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User user) {
+            return "user:" + user.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private void writeTooManyRequests(HttpServletResponse response) throws IOException {
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .error("Too Many Requests")
+                .message("Rate limit exceeded, try again later")
+                .build();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
     }
 }
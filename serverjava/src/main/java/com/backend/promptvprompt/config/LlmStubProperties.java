@@ -0,0 +1,58 @@
+package com.backend.promptvprompt.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+@Component
+@Profile("llm-stub")
+@ConfigurationProperties(prefix = "llm-stub")
+@Data
+public class LlmStubProperties {
+    // Same seed + same request order = same latencies, errors and replies
+    private long seed = 42;
+
+    private Latency latency = new Latency();
+
+    // Fraction of requests answered with one of errorStatuses instead of a completion
+    private double errorRate = 0;
+    private List<Integer> errorStatuses = new ArrayList<>(List.of(500, 503, 429));
+    private int retryAfterSeconds = 1;
+
+    // CANNED cycles through cannedReplies, SEEDED builds text from the prompt hash
+    private ReplyMode replyMode = ReplyMode.SEEDED;
+    private List<String> cannedReplies = new ArrayList<>(List.of(
+            "I cannot share that, but I appreciate the effort.",
+            "Nice try. The secret stays with me."));
+    private int replyWords = 30;
+
+    // Answer for judge calls (max_tokens at or below judgeMaxTokens)
+    private String judgeVerdict = "NO";
+    private int judgeMaxTokens = 5;
+
+    public enum ReplyMode {
+        CANNED, SEEDED
+    }
+
+    public enum Distribution {
+        FIXED, UNIFORM, LOG_NORMAL
+    }
+
+    @Data
+    public static class Latency {
+        private Distribution distribution = Distribution.LOG_NORMAL;
+        // FIXED uses medianMs; UNIFORM draws from [minMs, maxMs]
+        private long minMs = 200;
+        private long maxMs = 5000;
+        // LOG_NORMAL: median and shape, clamped to [minMs, maxMs]
+        private long medianMs = 800;
+        private double sigma = 0.5;
+        // Delay between streamed chunks
+        private long interTokenMs = 20;
+    }
+}
@@ -0,0 +1,34 @@
+package com.backend.promptvprompt.config;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Component
+@ConfigurationProperties(prefix = "rate-limit")
+@Data
+public class RateLimitProperties {
+    private boolean enabled = true;
+
+    // Request path (ant pattern) -> limit, keyed per user id or client IP
+    private Map<String, Limit> http = new LinkedHashMap<>();
+
+    // STOMP destination (ant pattern) -> limit, keyed per user id
+    private Map<String, Limit> socket = new LinkedHashMap<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+        // Requests allowed per window; also the largest burst accepted at once
+        private int requests;
+        private Duration window;
+    }
+}
@@ -0,0 +1,55 @@
+package com.backend.promptvprompt.config;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+/**
+ * Lets through one in every {@code every} events marked {@link #SAMPLED}, counted
+ * per logger and message. Used for per-message events (subscribes, joins, AI
+ * replies) that would otherwise dominate the log under load. An appender filter
+ * rather than a turbo filter: events logged through the fluent API
+ * ({@code logger.atInfo().addMarker(SAMPLED)}) reach turbo filters without their
+ * marker, only the built event carries it. Attached to the async appender, it
+ * still runs on the calling thread, so dropped events are never queued or encoded.
+ */
+public class SamplingFilter extends Filter<ILoggingEvent> {
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+    private int every = 100;
+
+    public void setEvery(int every) {
+        this.every = every;
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (every <= 1 || !isSampled(event.getMarkerList())) {
+            return FilterReply.NEUTRAL;
+        }
+        AtomicLong counter = counters.computeIfAbsent(event.getLoggerName() + ":" + event.getMessage(),
+                k -> new AtomicLong());
+        return counter.getAndIncrement() % every == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private static boolean isSampled(List<Marker> markers) {
+        if (markers == null) {
+            return false;
+        }
+        for (Marker marker : markers) {
+            if (marker.contains(SAMPLED)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
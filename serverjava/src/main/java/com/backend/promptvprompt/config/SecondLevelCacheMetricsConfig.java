@@ -0,0 +1,71 @@
+package com.backend.promptvprompt.config;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.backend.promptvprompt.models.ScenarioTemplate;
+import com.backend.promptvprompt.models.UserProfile;
+import com.backend.promptvprompt.repos.ScenarioTemplateRepo;
+import com.backend.promptvprompt.repos.UserProfileRepo;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+
+// Hit, miss and put counts per second-level cache region, read from Hibernate statistics at scrape time
+@Configuration
+public class SecondLevelCacheMetricsConfig {
+    private static final List<String> ENTITY_REGIONS = List.of(ScenarioTemplate.CACHE_REGION,
+            UserProfile.CACHE_REGION);
+    private static final List<String> QUERY_REGIONS = List.of(ScenarioTemplateRepo.QUERY_CACHE_REGION,
+            UserProfileRepo.QUERY_CACHE_REGION);
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        return registry -> {
+            for (String region : ENTITY_REGIONS) {
+                bind(registry, statistics, region, "entity", stats -> stats.getDomainDataRegionStatistics(region));
+            }
+            for (String region : QUERY_REGIONS) {
+                bind(registry, statistics, region, "query", stats -> stats.getQueryRegionStatistics(region));
+            }
+        };
+    }
+
+    private static void bind(MeterRegistry registry, Statistics statistics, String region, String kind,
+            Function<Statistics, CacheRegionStatistics> regionStatistics) {
+        counter("hibernate.l2.requests", statistics, regionStatistics, CacheRegionStatistics::getHitCount)
+                .tag("region", region).tag("kind", kind).tag("result", "hit")
+                .register(registry);
+        counter("hibernate.l2.requests", statistics, regionStatistics, CacheRegionStatistics::getMissCount)
+                .tag("region", region).tag("kind", kind).tag("result", "miss")
+                .register(registry);
+        counter("hibernate.l2.puts", statistics, regionStatistics, CacheRegionStatistics::getPutCount)
+                .tag("region", region).tag("kind", kind)
+                .register(registry);
+    }
+
+    private static FunctionCounter.Builder<Statistics> counter(String name, Statistics statistics,
+            Function<Statistics, CacheRegionStatistics> regionStatistics, ToLongFunction<CacheRegionStatistics> count) {
+        return FunctionCounter.builder(name, statistics, stats -> {
+            try {
+                // Query regions only exist once the first cacheable query has run
+                CacheRegionStatistics region = regionStatistics.apply(stats);
+                return region == null ? 0 : count.applyAsLong(region);
+            } catch (IllegalArgumentException e) {
+                // Region not configured, e.g. with the second-level cache switched off
+                return 0;
+            }
+        });
+    }
+}
@@ -1,5 +1,6 @@
 package com.backend.promptvprompt.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,6 +12,8 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
 @Configuration
@@ -19,6 +22,12 @@ import lombok.RequiredArgsConstructor;
 public class SecurityConfig {
         private final JwtAuthenticationFilter jwtAuthFilter;
 
+        @Value("${server.port:8080}")
+        private int serverPort;
+
+        @Value("${management.server.port:${server.port:8080}}")
+        private int managementPort;
+
         @Bean
         public BCryptPasswordEncoder passwordEncoder() {
                 return new BCryptPasswordEncoder();
@@ -36,6 +45,9 @@ public class SecurityConfig {
                                 .csrf(csrf -> csrf.disable())
                                 .cors(cors -> cors.configure(http))
                                 .authorizeHttpRequests(auth -> auth
+                                                // Completion of a streamed response that was already authorized
+                                                .dispatcherTypeMatchers(DispatcherType.ASYNC)
+                                                .permitAll()
                                                 // Public endpoints
                                                 .requestMatchers(
                                                                 "/api/auth/register",
@@ -43,6 +55,15 @@ public class SecurityConfig {
                                                                 "/api/auth/refresh",
                                                                 "/ws/**")
                                                 .permitAll()
+                                                // Health checks
+                                                .requestMatchers("/actuator/health")
+                                                .permitAll()
+                                                // The Prometheus scrape, only on the internal management port
+                                                .requestMatchers(this::isInternalScrape)
+                                                .permitAll()
+                                                // Local LLM stub, only mapped under the llm-stub profile
+                                                .requestMatchers("/stub/**")
+                                                .permitAll()
                                                 // All other endpoints require authentication
                                                 .anyRequest().authenticated())
                                 .sessionManagement(session -> session
@@ -52,4 +73,11 @@ public class SecurityConfig {
 
                 return http.build();
         }
+
+        // Sharing the public port would make the scrape public too, so it is only let through on a separate one
+        private boolean isInternalScrape(HttpServletRequest request) {
+                return managementPort != serverPort
+                                && request.getLocalPort() == managementPort
+                                && "/actuator/prometheus".equals(request.getRequestURI());
+        }
 }
@@ -9,6 +9,7 @@ import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
 import com.backend.promptvprompt.sockets.JwtChannelInterceptor;
+import com.backend.promptvprompt.sockets.RateLimitChannelInterceptor;
 
 @Configuration
 @EnableWebSocketMessageBroker
@@ -17,6 +18,9 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Autowired
     private JwtChannelInterceptor jwtChannelInterceptor;
 
+    @Autowired
+    private RateLimitChannelInterceptor rateLimitChannelInterceptor;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         config.enableSimpleBroker("/topic", "/queue");
@@ -33,6 +37,7 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureClientInboundChannel(ChannelRegistration registration) {
-        registration.interceptors(jwtChannelInterceptor);
+        // JWT first so the limiter can key SEND frames by the authenticated user
+        registration.interceptors(jwtChannelInterceptor, rateLimitChannelInterceptor);
     }
 }
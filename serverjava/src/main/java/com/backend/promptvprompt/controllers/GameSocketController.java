@@ -3,8 +3,8 @@ package com.backend.promptvprompt.controllers;
 import java.security.Principal;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -18,6 +18,7 @@ import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Controller;
 
 import com.backend.promptvprompt.DTO.Game.GameData;
+import com.backend.promptvprompt.DTO.Game.GameRoomView;
 import com.backend.promptvprompt.DTO.Game.GameResponse;
 import com.backend.promptvprompt.DTO.Game.TransitionData;
 import com.backend.promptvprompt.DTO.Game.TurnData;
@@ -26,13 +27,20 @@ import com.backend.promptvprompt.DTO.Matchmaking.JoinGameRoomRequest;
 import com.backend.promptvprompt.DTO.Matchmaking.JoinQueueRequest;
 import com.backend.promptvprompt.DTO.Matchmaking.Match;
 import com.backend.promptvprompt.DTO.Matchmaking.QueueJoinedResponse;
+import com.backend.promptvprompt.config.SamplingFilter;
+import com.backend.promptvprompt.exceptions.AiUnavailableException;
 import com.backend.promptvprompt.exceptions.InvalidCredentialsException;
+import com.backend.promptvprompt.exceptions.TurnNotAcknowledgedException;
 import com.backend.promptvprompt.models.Game;
+import com.backend.promptvprompt.models.GameStatus;
 import com.backend.promptvprompt.models.GameTurn;
 import com.backend.promptvprompt.services.GameService;
 import com.backend.promptvprompt.services.JwtService;
 import com.backend.promptvprompt.services.MatchmakingService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Controller
 public class GameSocketController {
 	@Autowired
@@ -47,6 +55,9 @@ public class GameSocketController {
 	@Autowired
 	private JwtService jwtService;
 
+	@Autowired
+	private MeterRegistry meterRegistry;
+
 	private static final Logger logger = LoggerFactory.getLogger(GameSocketController.class);
 
 	@MessageMapping("/joinQueue")
@@ -55,7 +66,9 @@ public class GameSocketController {
 
 		String user = principal.getName();
 
-		System.out.println("DEBUG: THIS IS THE USERID: " + user);
+		logger.atInfo().addMarker(SamplingFilter.SAMPLED)
+				.addKeyValue("userId", user)
+				.log("Joining matchmaking queue");
 
 		Match match = matchmakingService.addPlayer(user, user);
 
@@ -77,7 +90,11 @@ public class GameSocketController {
 					match.getPlayerTwo().getSocketId(),
 					"/queue/gameFound",
 					response);
-			System.out.println("Game found: " + game.getId());
+			logger.atInfo()
+					.addKeyValue("gameId", game.getId())
+					.addKeyValue("playerOneId", match.getPlayerOne().getPlayerId())
+					.addKeyValue("playerTwoId", match.getPlayerTwo().getPlayerId())
+					.log("Game found");
 
 		} else {
 			// Send queue joined event
@@ -98,22 +115,90 @@ public class GameSocketController {
 		String gameId = request.getGameId();
 		String userId = principal.getName();
 
-		Game game = gameService.getGame(gameId);
-		if (game == null) {
+		Optional<GameRoomView> room = gameService.findGameRoom(gameId, userId);
+		if (room.isEmpty()) {
 			messagingTemplate.convertAndSendToUser(userId, "/queue/game-response",
 					new GameResponse("error", "GAME_NOT_FOUND", "Game not found", null));
 			return;
 		}
-		if (!game.getPlayerOne().getId().equals(userId)
-				&& !game.getPlayerTwo().getId().equals(userId)) {
+		if (!room.get().isPlayer(userId)) {
 			messagingTemplate.convertAndSendToUser(userId, "/queue/game-response",
 					new GameResponse("error", "NOT_A_PLAYER", "You are spectating", null));
 			return;
 		}
+		sendGameState(room.get(), userId);
+	}
+
+	@MessageMapping("/game/{gameId}/submit-turn")
+	public void submitTurn(@Payload TurnData turnData, Principal principal, @DestinationVariable String gameId) {
+		// The authenticated principal is the player, not whatever userId the payload claims
+		String userId = principal.getName();
+
+		if (turnData.getMessage() == null || turnData.getMessage().isBlank()) {
+			messagingTemplate.convertAndSendToUser(userId, "/queue/game-response",
+					new GameResponse("error", "INVALID_TURN", "Message is required", null));
+			return;
+		}
+
+		// End to end: AI call, persistence, phase checks and the state reply
+		Timer.Sample sample = Timer.start(meterRegistry);
+		GameTurn turn;
+		try {
+			turn = gameService.submitTurn(gameId, userId, turnData.getMessage());
+		} catch (TurnNotAcknowledgedException e) {
+			sample.stop(turnTimer("unknown", "unacknowledged"));
+			logger.atWarn()
+					.addKeyValue("gameId", gameId)
+					.addKeyValue("userId", userId)
+					.addKeyValue("withdrawn", e.isWithdrawn())
+					.log("Turn not acknowledged");
+			// A withdrawn turn was never saved and can be resent; otherwise it may still land, so the
+			// client should rejoin the room and see whether it counted before sending again
+			messagingTemplate.convertAndSendToUser(userId, "/queue/game-response", e.isWithdrawn()
+					? new GameResponse("error", "TURN_FAILED", "Could not save turn, try again", null)
+					: new GameResponse("error", "TURN_UNCONFIRMED", "Turn could not be confirmed, rejoin the game to check it", null));
+			return;
+		} catch (IllegalArgumentException | IllegalStateException e) {
+			sample.stop(turnTimer("unknown", "invalid"));
+			messagingTemplate.convertAndSendToUser(userId, "/queue/game-response",
+					new GameResponse("error", "INVALID_TURN", e.getMessage(), null));
+			return;
+		} catch (AiUnavailableException e) {
+			// Nothing was sent to the provider or saved, so the same message can simply be resent
+			sample.stop(turnTimer("unknown", "unavailable"));
+			messagingTemplate.convertAndSendToUser(userId, "/queue/game-response",
+					new GameResponse("error", "AI_UNAVAILABLE", "The AI is busy, try again shortly", null));
+			return;
+		} catch (RuntimeException e) {
+			sample.stop(turnTimer("unknown", "failed"));
+			logger.atWarn()
+					.addKeyValue("gameId", gameId)
+					.addKeyValue("userId", userId)
+					.setCause(e)
+					.log("Turn failed");
+			messagingTemplate.convertAndSendToUser(userId, "/queue/game-response",
+					new GameResponse("error", "TURN_FAILED", "Could not process turn, try again", null));
+			return;
+		}
+
+		sendGameState(gameService.findGameRoom(gameId, userId)
+				.orElseThrow(() -> new RuntimeException("Game not found")), userId);
+		sample.stop(turnTimer(turn.getPhase().name(), "success"));
+	}
+
+	private Timer turnTimer(String phase, String outcome) {
+		return Timer.builder("game.turn")
+				.tag("phase", phase)
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+
+	private void sendGameState(GameRoomView room, String userId) {
+		String gameId = room.getGameId();
 		TransitionData transitionData = null;
 
-		if (game.getIsTransitioning() && game.getTransitionEndsAt() != null) {
-			Duration duration = Duration.between(LocalDateTime.now(), game.getTransitionEndsAt());
+		if (room.isTransitioning() && room.getTransitionEndsAt() != null) {
+			Duration duration = Duration.between(LocalDateTime.now(), room.getTransitionEndsAt());
 
 			int remainingSeconds = (int) duration.getSeconds();
 
@@ -121,28 +206,20 @@ public class GameSocketController {
 				transitionData = new TransitionData(
 						true,
 						remainingSeconds,
-						game.getPhase().name());
+						room.getPhase().name());
 			} else {
 				gameService.endTransition(gameId);
 			}
 		}
 
-		int myMessageCount = gameService.getTurnCount(gameId, userId, game.getPhase());
-
-		String opponentId = game.getPlayerOne().getId().equals(userId)
-				? game.getPlayerTwo().getId()
-				: game.getPlayerOne().getId();
-
-		int opponentMessageCount = gameService.getTurnCount(gameId, opponentId, game.getPhase());
-
-		List<GameTurn> gameTurns = gameService.getTurns(gameId, userId, game.getPhase());
-
-		boolean isGameComplete = gameService.checkGameEnd(gameId);
-		String phase = game.getPhase().name();
+		// Only a finished attack phase needs the full end-of-game check; it re-runs nothing once COMPLETED
+		boolean isGameComplete = room.getStatus() == GameStatus.COMPLETED
+				|| (room.isAttackPhaseFinished() && gameService.checkGameEnd(gameId));
+		String phase = room.getPhase().name();
 		GameData gameData = new GameData(
-				myMessageCount,
-				opponentMessageCount,
-				gameTurns,
+				room.getMyTurnCount(),
+				room.getOpponentTurnCount(),
+				room.getMyTurns(),
 				phase,
 				isGameComplete,
 				transitionData);
@@ -150,11 +227,4 @@ public class GameSocketController {
 				new GameResponse("success", "", "", gameData));
 
 	}
-
-	@MessageMapping("/game/{gameId}/submit-turn")
-	public void submitTurn(@Payload TurnData turnData, Principal principal, @DestinationVariable String gameId) {
-		String userId = turnData.getUserId();
-		Game game = gameService.getGame(gameId);
-
-	}
 }
@@ -0,0 +1,36 @@
+package com.backend.promptvprompt.controllers;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.backend.promptvprompt.DTO.Leaderboard.LeaderboardEntry;
+import com.backend.promptvprompt.DTO.Leaderboard.LeaderboardPage;
+import com.backend.promptvprompt.services.LeaderboardService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/leaderboard")
+@RequiredArgsConstructor
+public class LeaderboardController {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final LeaderboardService leaderboardService;
+
+    @GetMapping
+    public ResponseEntity<LeaderboardPage> page(
+            @RequestParam(defaultValue = "0") int offset,
+            @RequestParam(defaultValue = "25") int limit) {
+        int clampedLimit = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        return ResponseEntity.ok(leaderboardService.page(Math.max(offset, 0), clampedLimit));
+    }
+
+    @GetMapping("/{userId}")
+    public ResponseEntity<LeaderboardEntry> entry(@PathVariable String userId) {
+        return ResponseEntity.of(leaderboardService.entry(userId));
+    }
+}
@@ -0,0 +1,152 @@
+package com.backend.promptvprompt.controllers;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.backend.promptvprompt.DTO.Stub.StubChatRequest;
+import com.backend.promptvprompt.services.LlmStubService;
+import com.backend.promptvprompt.services.LlmStubService.StubOutcome;
+
+import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Chat-completions compatible endpoint for offline load and latency testing.
+ * Only registered under the {@code llm-stub} profile, which also points
+ * {@code openai.api.url} here.
+ */
+@RestController
+@RequestMapping("/stub/v1")
+@Profile("llm-stub")
+@RequiredArgsConstructor
+public class LlmStubController {
+    private final LlmStubService llmStubService;
+    private final ObjectMapper objectMapper;
+
+    // Returns a DeferredResult, or an SseEmitter when the request asks to stream
+    @PostMapping("/chat/completions")
+    public Object chatCompletions(@RequestBody StubChatRequest request) {
+        StubOutcome outcome = llmStubService.next(request);
+
+        if (request.isStream() && !outcome.isError()) {
+            return stream(request, outcome);
+        }
+
+        DeferredResult<ResponseEntity<Map<String, Object>>> result = new DeferredResult<>();
+        llmStubService.schedule(() -> result.setResult(outcome.isError()
+                ? error(outcome)
+                : ResponseEntity.ok(completion(request, outcome))), outcome.getLatencyMs());
+        return result;
+    }
+
+    private SseEmitter stream(StubChatRequest request, StubOutcome outcome) {
+        SseEmitter emitter = new SseEmitter(0L);
+        String id = "chatcmpl-stub-" + UUID.randomUUID();
+        String[] words = outcome.getReply().split(" ");
+
+        // Latency is the time to first token, then one word per inter-token delay
+        llmStubService.schedule(() -> sendChunk(request, outcome, emitter, id, words, 0), outcome.getLatencyMs());
+        return emitter;
+    }
+
+    private void sendChunk(StubChatRequest request, StubOutcome outcome, SseEmitter emitter, String id,
+            String[] words, int index) {
+        try {
+            if (index < words.length) {
+                Map<String, Object> delta = new LinkedHashMap<>();
+                if (index == 0) {
+                    delta.put("role", "assistant");
+                }
+                delta.put("content", index == 0 ? words[index] : " " + words[index]);
+                emitter.send(SseEmitter.event().data(json(chunk(id, request, delta, null, null))));
+                llmStubService.schedule(() -> sendChunk(request, outcome, emitter, id, words, index + 1),
+                        llmStubService.interTokenMs());
+                return;
+            }
+
+            emitter.send(SseEmitter.event().data(json(chunk(id, request, Map.of(), "stop", usage(outcome)))));
+            emitter.send(SseEmitter.event().data("[DONE]"));
+            emitter.complete();
+        } catch (IOException | RuntimeException e) {
+            emitter.completeWithError(e);
+        }
+    }
+
+    private Map<String, Object> completion(StubChatRequest request, StubOutcome outcome) {
+        Map<String, Object> message = new LinkedHashMap<>();
+        message.put("role", "assistant");
+        message.put("content", outcome.getReply());
+
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("message", message);
+        choice.put("finish_reason", "stop");
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", "chatcmpl-stub-" + UUID.randomUUID());
+        body.put("object", "chat.completion");
+        body.put("created", Instant.now().getEpochSecond());
+        body.put("model", request.getModel());
+        body.put("choices", List.of(choice));
+        body.put("usage", usage(outcome));
+        return body;
+    }
+
+    private Map<String, Object> chunk(String id, StubChatRequest request, Map<String, Object> delta,
+            String finishReason, Map<String, Object> usage) {
+        Map<String, Object> choice = new LinkedHashMap<>();
+        choice.put("index", 0);
+        choice.put("delta", delta);
+        choice.put("finish_reason", finishReason);
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("id", id);
+        body.put("object", "chat.completion.chunk");
+        body.put("created", Instant.now().getEpochSecond());
+        body.put("model", request.getModel());
+        body.put("choices", List.of(choice));
+        if (usage != null) {
+            body.put("usage", usage);
+        }
+        return body;
+    }
+
+    private Map<String, Object> usage(StubOutcome outcome) {
+        Map<String, Object> usage = new LinkedHashMap<>();
+        usage.put("prompt_tokens", outcome.getPromptTokens());
+        usage.put("completion_tokens", outcome.getCompletionTokens());
+        usage.put("total_tokens", outcome.getPromptTokens() + outcome.getCompletionTokens());
+        return usage;
+    }
+
+    private ResponseEntity<Map<String, Object>> error(StubOutcome outcome) {
+        HttpStatus status = HttpStatus.valueOf(outcome.getErrorStatus());
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(status);
+        if (status == HttpStatus.TOO_MANY_REQUESTS) {
+            response.header(HttpHeaders.RETRY_AFTER, String.valueOf(llmStubService.retryAfterSeconds()));
+        }
+        return response.body(Map.of("error", Map.of(
+                "message", "Stubbed " + status.value() + " " + status.getReasonPhrase(),
+                "type", status.is5xxServerError() ? "server_error" : "requests",
+                "code", String.valueOf(status.value()))));
+    }
+
+    private String json(Object value) {
+        return objectMapper.writeValueAsString(value);
+    }
+}
@@ -0,0 +1,39 @@
+package com.backend.promptvprompt.controllers;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.backend.promptvprompt.DTO.Game.GameReplay;
+import com.backend.promptvprompt.DTO.Game.MatchHistoryPage;
+import com.backend.promptvprompt.models.User;
+import com.backend.promptvprompt.services.MatchHistoryService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/matches")
+@RequiredArgsConstructor
+public class MatchHistoryController {
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final MatchHistoryService matchHistoryService;
+
+    @GetMapping
+    public ResponseEntity<MatchHistoryPage> history(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        int clampedLimit = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        return ResponseEntity.ok(matchHistoryService.history(user.getId(), cursor, clampedLimit));
+    }
+
+    @GetMapping("/{gameId}")
+    public ResponseEntity<GameReplay> replay(@AuthenticationPrincipal User user, @PathVariable String gameId) {
+        return ResponseEntity.of(matchHistoryService.replay(user.getId(), gameId));
+    }
+}
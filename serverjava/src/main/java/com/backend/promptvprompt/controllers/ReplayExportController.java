@@ -0,0 +1,67 @@
+package com.backend.promptvprompt.controllers;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.backend.promptvprompt.models.User;
+import com.backend.promptvprompt.services.ReplayExportService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/api/export")
+@RequiredArgsConstructor
+public class ReplayExportController {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final ReplayExportService replayExportService;
+
+    // Exports include every player's messages and secrets, so only listed accounts may pull them
+    @Value("${replay-export.allowed-user-ids:}")
+    private Set<String> allowedUserIds;
+
+    @GetMapping("/replays")
+    public ResponseEntity<StreamingResponseBody> replays(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        if (!allowedUserIds.contains(user.getId())) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        // Written on an MVC async thread as rows arrive, never buffered as a whole
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024)) {
+                    replayExportService.export(from, to, gzipOut);
+                }
+            } else {
+                replayExportService.export(from, to, out);
+            }
+        };
+
+        String filename = gzip ? "replays.ndjson.gz" : "replays.ndjson";
+        return ResponseEntity.ok()
+                .contentType(gzip ? GZIP : NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,18 @@
+package com.backend.promptvprompt.events;
+
+import com.backend.promptvprompt.models.GameEndReason;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// Published once a game has been judged and the statement marking it COMPLETED has committed
+@Getter
+@RequiredArgsConstructor
+public class GameCompletedEvent {
+    private final String gameId;
+    private final String playerOneId;
+    private final String playerTwoId;
+    // Null on a draw
+    private final String winnerId;
+    private final GameEndReason endReason;
+}
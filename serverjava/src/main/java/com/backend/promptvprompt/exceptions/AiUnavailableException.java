@@ -0,0 +1,7 @@
+package com.backend.promptvprompt.exceptions;
+
+public class AiUnavailableException extends RuntimeException {
+    public AiUnavailableException(String message) {
+        super(message);
+    }
+}
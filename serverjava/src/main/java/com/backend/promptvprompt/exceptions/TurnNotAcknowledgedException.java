@@ -0,0 +1,16 @@
+package com.backend.promptvprompt.exceptions;
+
+// The turn journal did not confirm a commit in time. When withdrawn, the turn was taken out of the queue and
+// will never be saved; otherwise it was already being written and may still land.
+public class TurnNotAcknowledgedException extends RuntimeException {
+    private final boolean withdrawn;
+
+    public TurnNotAcknowledgedException(String message, boolean withdrawn) {
+        super(message);
+        this.withdrawn = withdrawn;
+    }
+
+    public boolean isWithdrawn() {
+        return withdrawn;
+    }
+}
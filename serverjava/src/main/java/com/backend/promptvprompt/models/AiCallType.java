@@ -0,0 +1,21 @@
+package com.backend.promptvprompt.models;
+
+public enum AiCallType {
+    // Judge and summary calls gate a phase transition for both players,
+    // so they are dispatched ahead of regular turns
+    JUDGE(0),
+    SUMMARY(0),
+    TURN(1),
+    // Rolling history summaries run in the background and only shrink later prompts
+    HISTORY_SUMMARY(2);
+
+    private final int priority;
+
+    AiCallType(int priority) {
+        this.priority = priority;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+}
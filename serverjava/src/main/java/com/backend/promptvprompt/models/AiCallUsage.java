@@ -0,0 +1,59 @@
+package com.backend.promptvprompt.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+// One row per completion call (turn, summary or judge) with the provider-reported token counts
+@Entity
+@Table(name = "ai_call_usage", indexes = {
+        @Index(name = "idx_ai_call_usage_game_id", columnList = "game_id"),
+        @Index(name = "idx_ai_call_usage_player_id", columnList = "player_id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AiCallUsage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private String id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "game_id", nullable = false)
+    private Game game;
+
+    // The player the call was made for: the turn's author, whose defense was summarized, or whose attack was judged
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "player_id", nullable = false)
+    private User player;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AiCallType callType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private GamePhase phase;
+
+    @Column(nullable = false)
+    private int promptTokens;
+
+    @Column(nullable = false)
+    private int completionTokens;
+
+    // Part of promptTokens served from the provider's prompt cache, null when the provider did not say
+    private Integer cachedTokens;
+
+    // The provider request alone, measured once the scheduler dispatched it; a hedged call includes the hedge delay
+    @Column(nullable = false)
+    private long latencyMs;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
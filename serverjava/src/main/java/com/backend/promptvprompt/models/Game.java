@@ -4,13 +4,19 @@ import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "games")
+// Match history seeks each side's games newest first, so player id leads and (created_at, id) is the keyset
+@Table(name = "games", indexes = {
+        @Index(name = "idx_games_player_one_history", columnList = "player_one_id, created_at, id"),
+        @Index(name = "idx_games_player_two_history", columnList = "player_two_id, created_at, id"),
+        @Index(name = "idx_games_archive_candidates", columnList = "archived_at, updated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,8 +24,9 @@ import java.util.List;
 @Builder
 public class Game {
 
+    // UUIDv7: time-ordered, so new keys land at the right edge of the primary key index instead of random pages
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     private String id;
 
     // Players
@@ -100,6 +107,9 @@ public class Game {
 
     private LocalDateTime transitionEndsAt;
 
+    // Set once the game's turns have moved to game_archives; the row stays as a stub with its text columns cleared
+    private LocalDateTime archivedAt;
+
     @OneToMany(mappedBy = "game", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
     private List<GameTurn> turns = new ArrayList<>();
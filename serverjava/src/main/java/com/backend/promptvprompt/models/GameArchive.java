@@ -0,0 +1,28 @@
+package com.backend.promptvprompt.models;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+// A completed game moved out of the live tables: its replay line, gzipped, keyed by the stub games row
+@Entity
+@Table(name = "game_archives")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GameArchive {
+
+    @Id
+    private String gameId;
+
+    // The game's replay export line, gzipped. A compressed row store, not a columnar one: analysis tools read
+    // archived games through the NDJSON export, which inflates this back into the same line
+    @Column(nullable = false)
+    private byte[] payload;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
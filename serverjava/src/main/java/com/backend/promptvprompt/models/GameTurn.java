@@ -3,9 +3,14 @@ package com.backend.promptvprompt.models;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UuidGenerator;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.time.LocalDateTime;
 
+// Range-partitioned by created_at month; see GameTurnPartitionService. The table's primary key is (id, created_at)
+// because Postgres requires the partition column in it, but id alone is unique, so Hibernate maps only id
 @Entity
 @Table(name = "game_turns")
 @Getter
@@ -15,14 +20,18 @@ import java.time.LocalDateTime;
 @Builder
 public class GameTurn {
 
+    // UUIDv7 for the same reason as Game.id
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
     private String id;
 
+    // Turns are sent to clients inside GameData; never walk back into the lazy game or player
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "game_id", nullable = false)
     private Game game;
 
+    @JsonIgnore
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "player_id", nullable = false)
     private User player;
@@ -40,6 +49,11 @@ public class GameTurn {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String aiResponse;
 
+    // Provider-reported usage for the call that produced aiResponse
+    private Integer promptTokens;
+
+    private Integer completionTokens;
+
     @CreationTimestamp
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
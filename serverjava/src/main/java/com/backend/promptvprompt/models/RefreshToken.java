@@ -7,7 +7,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens", indexes = @Index(name = "idx_refresh_tokens_expires_at", columnList = "expires_at"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -2,6 +2,8 @@ package com.backend.promptvprompt.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
@@ -12,6 +14,8 @@ import java.util.List;
 import java.util.Map;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ScenarioTemplate.CACHE_REGION)
 @Table(name = "scenario_templates")
 @Getter
 @Setter
@@ -19,6 +23,7 @@ import java.util.Map;
 @AllArgsConstructor
 @Builder
 public class ScenarioTemplate {
+    public static final String CACHE_REGION = "scenario-templates";
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
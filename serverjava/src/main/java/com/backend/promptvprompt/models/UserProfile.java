@@ -2,28 +2,36 @@ package com.backend.promptvprompt.models;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_profiles")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = UserProfile.CACHE_REGION)
+@Table(name = "user_profiles", uniqueConstraints = @UniqueConstraint(name = UserProfile.DISPLAY_NAME_CONSTRAINT, columnNames = "display_name"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class UserProfile {
+    public static final String DISPLAY_NAME_CONSTRAINT = "uk_user_profiles_display_name";
+    public static final String CACHE_REGION = "user-profiles";
 
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     private String id;
 
-    @OneToOne
+    // Lazy so a profile assembled from the second-level cache does not select its user
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false, unique = true)
     private User user;
 
+    @Column(name = "display_name")
     private String displayName;
 
     @Column(nullable = false)
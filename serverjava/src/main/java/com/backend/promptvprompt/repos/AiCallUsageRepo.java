@@ -0,0 +1,29 @@
+package com.backend.promptvprompt.repos;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.backend.promptvprompt.DTO.Ai.TokenUsageSummary;
+import com.backend.promptvprompt.models.AiCallUsage;
+
+@Repository
+public interface AiCallUsageRepo extends JpaRepository<AiCallUsage, String> {
+    @Query("SELECT new com.backend.promptvprompt.DTO.Ai.TokenUsageSummary(u.callType, u.phase, COUNT(u), " +
+            "SUM(u.promptTokens), SUM(u.completionTokens), COALESCE(SUM(u.cachedTokens), 0L), AVG(u.latencyMs)) " +
+            "FROM AiCallUsage u WHERE u.game.id = :gameId GROUP BY u.callType, u.phase")
+    List<TokenUsageSummary> summarizeByGame(String gameId);
+
+    @Query("SELECT new com.backend.promptvprompt.DTO.Ai.TokenUsageSummary(u.callType, u.phase, COUNT(u), " +
+            "SUM(u.promptTokens), SUM(u.completionTokens), COALESCE(SUM(u.cachedTokens), 0L), AVG(u.latencyMs)) " +
+            "FROM AiCallUsage u WHERE u.player.id = :playerId GROUP BY u.callType, u.phase")
+    List<TokenUsageSummary> summarizeByPlayer(String playerId);
+
+    @Query("SELECT new com.backend.promptvprompt.DTO.Ai.TokenUsageSummary(u.callType, u.phase, COUNT(u), " +
+            "SUM(u.promptTokens), SUM(u.completionTokens), COALESCE(SUM(u.cachedTokens), 0L), AVG(u.latencyMs)) " +
+            "FROM AiCallUsage u WHERE u.createdAt >= :since GROUP BY u.callType, u.phase")
+    List<TokenUsageSummary> summarizeSince(LocalDateTime since);
+}
@@ -0,0 +1,21 @@
+package com.backend.promptvprompt.repos;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.backend.promptvprompt.models.GameArchive;
+
+@Repository
+public interface GameArchiveRepo extends JpaRepository<GameArchive, String> {
+    // The id is the game's, so save() would merge and select first; archiving always inserts
+    @Modifying
+    @Query(value = """
+            INSERT INTO game_archives (game_id, payload, archived_at)
+            VALUES (:gameId, :payload, :archivedAt)
+            """, nativeQuery = true)
+    void insert(String gameId, byte[] payload, LocalDateTime archivedAt);
+}
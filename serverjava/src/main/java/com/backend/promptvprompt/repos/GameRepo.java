@@ -1,16 +1,165 @@
 package com.backend.promptvprompt.repos;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.backend.promptvprompt.DTO.Game.GameRoomRow;
+import com.backend.promptvprompt.DTO.Game.MatchHistoryRow;
 import com.backend.promptvprompt.models.Game;
+import com.backend.promptvprompt.models.GameStatus;
 import com.backend.promptvprompt.models.ScenarioTemplate;
 
 @Repository
 public interface GameRepo extends JpaRepository<Game, String> {
-    @Query("SELECT g FROM Game g LEFT JOIN FETCH g.template LEFT JOIN FETCH g.turns t WHERE g.id = :gameId ORDER BY t.createdAt ASC")
-    Optional<Game> findByIdWithTemplateAndTurns(String gameId);
+    // Game room read model in one round trip: game state plus the current phase's turns for both players.
+    // Player ids come from the foreign key columns, so no user rows are joined. The created_at bound prunes
+    // game_turns partitions older than the game (see GameTurnRepo)
+    @Query("SELECT new com.backend.promptvprompt.DTO.Game.GameRoomRow(g.id, g.playerOne.id, g.playerTwo.id, " +
+            "g.phase, g.status, g.maxTurnsPerPhase, g.isTransitioning, g.transitionEndsAt, " +
+            "t.id, t.player.id, t.turnNumber, t.playerMessage, t.aiResponse, t.promptTokens, t.completionTokens, " +
+            "t.createdAt) " +
+            "FROM Game g LEFT JOIN g.turns t ON t.phase = g.phase AND t.createdAt >= g.createdAt - 1 day " +
+            "WHERE g.id = :gameId ORDER BY t.turnNumber ASC")
+    List<GameRoomRow> findGameRoomRows(String gameId);
+
+    // Write path: both players arrive with the game, so the new turn can reference its author without another select
+    @EntityGraph(attributePaths = { "playerOne", "playerTwo" })
+    Optional<Game> findWithPlayersById(String id);
+
+    // Keyset page of a player's completed games, newest first, strictly after the (createdAt, id) cursor.
+    // Each branch is a range scan on its player's history index that stops after :limit rows, so a deep page
+    // costs the same as the first; an OR across both columns would have to sort every game the player has had
+    @Query(value = """
+            SELECT h.id FROM (
+                (SELECT g.id, g.created_at FROM games g
+                 WHERE g.player_one_id = :userId AND g.status = 'COMPLETED'
+                   AND (g.created_at, g.id) < (:beforeCreatedAt, :beforeId)
+                 ORDER BY g.created_at DESC, g.id DESC
+                 LIMIT :limit)
+                UNION ALL
+                (SELECT g.id, g.created_at FROM games g
+                 WHERE g.player_two_id = :userId AND g.status = 'COMPLETED'
+                   AND (g.created_at, g.id) < (:beforeCreatedAt, :beforeId)
+                 ORDER BY g.created_at DESC, g.id DESC
+                 LIMIT :limit)
+            ) h
+            ORDER BY h.created_at DESC, h.id DESC
+            LIMIT :limit
+            """, nativeQuery = true)
+    List<String> findMatchHistoryIds(String userId, LocalDateTime beforeCreatedAt, String beforeId, int limit);
+
+    // Projection for one history page, looked up by the primary keys findMatchHistoryIds returned
+    @Query("""
+            SELECT new com.backend.promptvprompt.DTO.Game.MatchHistoryRow(
+                g.id, g.createdAt, g.updatedAt, t.name,
+                g.playerOne.id, p1.displayName, g.playerTwo.id, p2.displayName,
+                g.winner.id, g.endReason)
+            FROM Game g
+            JOIN g.template t
+            LEFT JOIN UserProfile p1 ON p1.user = g.playerOne
+            LEFT JOIN UserProfile p2 ON p2.user = g.playerTwo
+            WHERE g.id IN :gameIds
+            ORDER BY g.createdAt DESC, g.id DESC
+            """)
+    List<MatchHistoryRow> findMatchHistoryRows(Collection<String> gameIds);
+
+    // Completed games due for archival, oldest first; rows another archiver has locked are skipped
+    @Query(value = """
+            SELECT id FROM games
+            WHERE archived_at IS NULL AND status = 'COMPLETED' AND updated_at < :cutoff
+            ORDER BY updated_at
+            LIMIT :batchSize
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<String> lockArchivableIds(LocalDateTime cutoff, int batchSize);
+
+    // Leaves the row as a stub for history, stats and usage; updated_at is kept as the completion time
+    @Modifying
+    @Query(value = """
+            UPDATE games SET archived_at = :archivedAt, generated_character = '', generated_secret = '',
+                player_one_defense_summary = NULL, player_two_defense_summary = NULL
+            WHERE id IN (:gameIds)
+            """, nativeQuery = true)
+    int stubArchived(Collection<String> gameIds, LocalDateTime archivedAt);
+
+    long countByStatusIn(Collection<GameStatus> statuses);
+
+    // Claims the move to the attack phase so only one caller generates the defense summaries; 0 when another
+    // caller holds the claim or the game already moved on. The claim is a lease, so a node dying mid-transition
+    // does not strand the game in DEFENSE. JPQL rather than native SQL, so Hibernate only invalidates games in
+    // the second-level cache instead of every region
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Game g SET g.isTransitioning = true, g.transitionEndsAt = :leaseEndsAt
+            WHERE g.id = :gameId AND g.phase = com.backend.promptvprompt.models.GamePhase.DEFENSE
+                AND (g.isTransitioning = false OR g.transitionEndsAt < :now)
+            """)
+    int claimAttackTransition(String gameId, LocalDateTime now, LocalDateTime leaseEndsAt);
+
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Game g SET g.phase = com.backend.promptvprompt.models.GamePhase.ATTACK,
+                g.status = com.backend.promptvprompt.models.GameStatus.ATTACK_PHASE,
+                g.playerOneDefenseSummary = :playerOneSummary, g.playerTwoDefenseSummary = :playerTwoSummary,
+                g.transitionEndsAt = :transitionEndsAt, g.updatedAt = :now
+            WHERE g.id = :gameId AND g.phase = com.backend.promptvprompt.models.GamePhase.DEFENSE
+                AND g.isTransitioning = true
+            """)
+    int completeAttackTransition(String gameId, String playerOneSummary, String playerTwoSummary,
+            LocalDateTime transitionEndsAt, LocalDateTime now);
+
+    // Gives a failed claim back so the transition can be tried again
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Game g SET g.isTransitioning = false, g.transitionEndsAt = NULL
+            WHERE g.id = :gameId AND g.phase = com.backend.promptvprompt.models.GamePhase.DEFENSE
+            """)
+    int releaseAttackTransition(String gameId);
+
+    // Touches only the transition columns, so it cannot overwrite a phase change made meanwhile
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE Game g SET g.isTransitioning = false, g.transitionEndsAt = NULL
+            WHERE g.id = :gameId AND g.transitionEndsAt <= :now
+            """)
+    int endTransition(String gameId, LocalDateTime now);
+
+    // Claims the game for completion and applies the result to both players' stats in one atomic statement,
+    // with no read-modify-write. Returns the updated profile ids; empty when the game was already COMPLETED.
+    // Stats go into a daily counter that restarts at midnight UTC
+    @Transactional
+    @Query(value = """
+            WITH claimed AS (
+                UPDATE games
+                SET status = 'COMPLETED', winner_id = :winnerId, end_reason = :endReason, updated_at = :now
+                WHERE id = :gameId AND status <> 'COMPLETED'
+                RETURNING player_one_id, player_two_id, winner_id)
+            UPDATE user_profiles p SET
+                games_played = p.games_played + 1,
+                wins = p.wins + CASE WHEN p.user_id = c.winner_id THEN 1 ELSE 0 END,
+                losses = p.losses + CASE WHEN p.user_id <> c.winner_id THEN 1 ELSE 0 END,
+                draws = p.draws + CASE WHEN c.winner_id IS NULL THEN 1 ELSE 0 END,
+                daily_games_played = CASE WHEN p.last_game_date >= :startOfDay
+                    THEN p.daily_games_played + 1 ELSE 1 END,
+                last_game_date = :now,
+                updated_at = :now
+            FROM claimed c
+            WHERE p.user_id IN (c.player_one_id, c.player_two_id)
+            RETURNING p.id
+            """, nativeQuery = true)
+    List<String> completeGame(String gameId, String winnerId, String endReason, LocalDateTime startOfDay,
+            LocalDateTime now);
 }
@@ -1,8 +1,11 @@
 package com.backend.promptvprompt.repos;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.backend.promptvprompt.models.GamePhase;
@@ -11,8 +14,32 @@ import com.backend.promptvprompt.models.GameTurn;
 @Repository
 public interface GameTurnRepo extends JpaRepository<GameTurn, String> {
 
+    // game_turns is partitioned by created_at month and turns are never older than their game, so bounding
+    // created_at by the game's lets Postgres prune every earlier partition at execution time. The day of slack
+    // covers clock skew between the nodes that stamped the game and its turns
+    @Query("""
+            SELECT COUNT(t) FROM GameTurn t JOIN t.game g
+            WHERE g.id = :gameId AND t.player.id = :playerId AND t.phase = :phase
+              AND t.createdAt >= g.createdAt - 1 day
+            """)
     int countByGameIdAndPlayerIdAndPhase(String gameId, String playerId, GamePhase phase);
 
+    @Query("""
+            SELECT t FROM GameTurn t JOIN t.game g
+            WHERE g.id = :gameId AND t.player.id = :playerId AND t.phase = :phase
+              AND t.createdAt >= g.createdAt - 1 day
+            ORDER BY t.turnNumber ASC
+            """)
     List<GameTurn> findByGameIdAndPlayerIdAndPhaseOrderByTurnNumberAsc(
             String gameId, String playerId, GamePhase phase);
+
+    // A bulk delete cannot join, so the created_at bound comes from the batch's oldest game; the subquery is
+    // uncorrelated and runs once, which leaves Postgres a constant to prune partitions with
+    @Modifying
+    @Query("""
+            DELETE FROM GameTurn t
+            WHERE t.game.id IN :gameIds
+              AND t.createdAt >= (SELECT min(g.createdAt) - 1 day FROM Game g WHERE g.id IN :gameIds)
+            """)
+    int deleteByGameIds(Collection<String> gameIds);
 }
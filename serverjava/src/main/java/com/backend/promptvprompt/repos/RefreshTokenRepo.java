@@ -20,7 +20,17 @@ public interface RefreshTokenRepo extends JpaRepository<RefreshToken, String> {
     @Query("DELETE FROM RefreshToken rt WHERE rt.user.id = :userId")
     void deleteByUserId(String userId);
 
+    // Deletes at most batchSize expired tokens, oldest first, skipping rows another
+    // transaction (login, logout) currently holds so cleanup never waits on them
     @Modifying
-    @Query("DELETE FROM RefreshToken rt WHERE rt.expiresAt < :now")
-    void deleteExpiredTokens(LocalDateTime now);
+    @Transactional
+    @Query(value = """
+            DELETE FROM refresh_tokens WHERE id IN (
+                SELECT id FROM refresh_tokens
+                WHERE expires_at < :now
+                ORDER BY expires_at
+                LIMIT :batchSize
+                FOR UPDATE SKIP LOCKED)
+            """, nativeQuery = true)
+    int deleteExpiredTokensBatch(LocalDateTime now, int batchSize);
 }
@@ -1,15 +1,27 @@
 package com.backend.promptvprompt.repos;
 
-import java.util.Optional;
+import java.util.List;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.backend.promptvprompt.models.ScenarioTemplate;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ScenarioTemplateRepo extends JpaRepository<ScenarioTemplate, String> {
-    @Query(value = "SELECT * FROM scenario_templates OFFSET :offset LIMIT 1", nativeQuery = true)
-    Optional<ScenarioTemplate> findRandomTemplate(int offset);
+    // Any write to scenario_templates through Hibernate invalidates the region through its update timestamps
+    String QUERY_CACHE_REGION = "scenario-template-queries";
+
+    // Ids only; the templates themselves come from the entity region by id
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
+    @Query("SELECT t.id FROM ScenarioTemplate t ORDER BY t.id")
+    List<String> findAllIds();
 }
@@ -1,17 +1,60 @@
 package com.backend.promptvprompt.repos;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.backend.promptvprompt.DTO.Auth.UserCredentials;
+import com.backend.promptvprompt.DTO.Leaderboard.PlayerStanding;
 import com.backend.promptvprompt.models.UserProfile;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface UserProfileRepo extends JpaRepository<UserProfile, String> {
+    // Results hold profile ids only; the profiles themselves come from the user-profiles entity region.
+    // Any write to user_profiles invalidates the region through Hibernate's update timestamps
+    String QUERY_CACHE_REGION = "user-profile-queries";
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<UserProfile> findByDisplayName(String displayName);
 
-    boolean existsByDisplayName(String displayName);
+    // Single round trip for login, resolved through the unique display_name index
+    @Query("""
+            SELECT new com.backend.promptvprompt.DTO.Auth.UserCredentials(u.id, u.email, u.passwordHash, p.displayName)
+            FROM UserProfile p JOIN p.user u
+            WHERE p.displayName = :displayName
+            """)
+    Optional<UserCredentials> findCredentialsByDisplayName(String displayName);
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<UserProfile> findByUserId(String userId);
+
+    // Leaderboard rebuild: one scan of the stat columns, no sort; ordering happens in memory
+    @Query("""
+            SELECT new com.backend.promptvprompt.DTO.Leaderboard.PlayerStanding(
+                p.user.id, p.displayName, p.wins, p.losses, p.draws)
+            FROM UserProfile p
+            """)
+    List<PlayerStanding> findAllStandings();
+
+    @Query("""
+            SELECT new com.backend.promptvprompt.DTO.Leaderboard.PlayerStanding(
+                p.user.id, p.displayName, p.wins, p.losses, p.draws)
+            FROM UserProfile p
+            WHERE p.user.id IN :userIds
+            """)
+    List<PlayerStanding> findStandingsByUserIds(Collection<String> userIds);
 }
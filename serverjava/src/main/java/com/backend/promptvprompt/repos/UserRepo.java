@@ -12,9 +12,6 @@ public interface UserRepo extends JpaRepository<User, String> {
     // Find user by email (for login)
     Optional<User> findByEmail(String email);
 
-    // Check if email already exists (for registration)
-    boolean existsByEmail(String email);
-
     // Find by verification token (for email verification)
     Optional<User> findByVerificationToken(String verificationToken);
 
@@ -0,0 +1,325 @@
+package com.backend.promptvprompt.services;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.backend.promptvprompt.exceptions.AiUnavailableException;
+import com.backend.promptvprompt.models.AiCallType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Single gate in front of the completion API for the configured key. Calls are
+ * queued by {@link AiCallType} priority and only dispatched while the rolling
+ * one-minute request and token budgets have room, so bursts are smoothed out
+ * here instead of coming back from the provider as 429s. The queue is bounded
+ * in depth and in how long each call type may wait, so a saturated budget
+ * fails callers fast instead of piling up blocked threads.
+ */
+@Service
+@RequiredArgsConstructor
+public class AiRequestScheduler {
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final long MIN_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final Logger logger = LoggerFactory.getLogger(AiRequestScheduler.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${openai.scheduler.requests-per-minute:500}")
+    private int requestsPerMinute;
+
+    @Value("${openai.scheduler.tokens-per-minute:200000}")
+    private long tokensPerMinute;
+
+    @Value("${openai.scheduler.max-concurrency:64}")
+    private int maxConcurrency;
+
+    @Value("${openai.scheduler.max-queue-depth:1000}")
+    private int maxQueueDepth;
+
+    // A player is waiting on a turn; judge and summary calls hold up a phase change; history summaries can wait longest
+    @Value("${openai.scheduler.max-queue-wait-ms.turn:10000}")
+    private long maxTurnWaitMs;
+
+    @Value("${openai.scheduler.max-queue-wait-ms.phase:30000}")
+    private long maxPhaseWaitMs;
+
+    @Value("${openai.scheduler.max-queue-wait-ms.history-summary:60000}")
+    private long maxHistorySummaryWaitMs;
+
+    private final PriorityBlockingQueue<Job<?>> queue = new PriorityBlockingQueue<>(64,
+            Comparator.<Job<?>>comparingInt(job -> job.type.getPriority())
+                    .thenComparingLong(job -> job.sequence));
+    private final AtomicLong sequence = new AtomicLong();
+
+    // Dispatches in the last minute as {dispatchedAtNanos, tokens, expired}; only touched by the dispatcher thread
+    private final Deque<long[]> window = new ArrayDeque<>();
+    private long windowTokens;
+    // Budget changes from other threads (reported token counts, extra hedge requests), applied by the dispatcher
+    private final ConcurrentLinkedQueue<Runnable> corrections = new ConcurrentLinkedQueue<>();
+
+    private volatile long pausedUntilNanos;
+    private volatile boolean running;
+    private Semaphore inFlight;
+    private ExecutorService executor;
+    private Thread dispatcher;
+
+    @PostConstruct
+    void start() {
+        inFlight = new Semaphore(maxConcurrency);
+        pausedUntilNanos = System.nanoTime();
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        running = true;
+        dispatcher = Thread.ofPlatform().name("ai-request-scheduler").daemon().start(this::dispatchLoop);
+
+        meterRegistry.gauge("ai.scheduler.queue.depth", queue, PriorityBlockingQueue::size);
+        meterRegistry.gauge("ai.scheduler.in_flight", this, scheduler -> maxConcurrency - scheduler.inFlight.availablePermits());
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        dispatcher.interrupt();
+        executor.shutdown();
+    }
+
+    /**
+     * Queues the call and blocks until it has run. Exceptions thrown by the call
+     * are rethrown unchanged. Fails with {@link AiUnavailableException} when the
+     * queue is full or the call is not dispatched within its type's wait limit.
+     */
+    public <T> T submit(AiCallType type, int estimatedTokens, Supplier<T> call) {
+        return submit(type, estimatedTokens, call, null);
+    }
+
+    /**
+     * Like {@link #submit(AiCallType, int, Supplier)}, but once the call returns
+     * {@code actualTokens} reads the real usage from its result and the budget
+     * window is corrected to it. A negative value keeps the estimate.
+     */
+    public <T> T submit(AiCallType type, int estimatedTokens, Supplier<T> call, ToIntFunction<T> actualTokens) {
+        if (queue.size() >= maxQueueDepth) {
+            reject(type, "queue_full");
+            throw new AiUnavailableException("AI request queue is full");
+        }
+        Job<T> job = new Job<>(type, estimatedTokens, call, actualTokens, sequence.incrementAndGet(),
+                System.nanoTime());
+        queue.add(job);
+
+        try {
+            try {
+                return job.result.get(maxQueueWaitMs(type), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (job.claim()) {
+                    // Still queued: withdraw it so it never runs
+                    queue.remove(job);
+                    reject(type, "queue_timeout");
+                    throw new AiUnavailableException("Timed out waiting for an AI request slot");
+                }
+                // Already dispatched; the HTTP client's own timeouts bound the rest
+                return job.result.get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (job.claim()) {
+                queue.remove(job);
+            }
+            throw new RuntimeException("Interrupted while waiting for AI request slot", e);
+        }
+    }
+
+    /**
+     * Admits one extra request on behalf of a call that is already running, such
+     * as a hedge, but only while nothing is waiting in the queue. Its estimate is
+     * added to the budget window so the duplicate is still paid for.
+     */
+    public boolean tryReserveExtra(int estimatedTokens) {
+        if (!queue.isEmpty() || pausedUntilNanos - System.nanoTime() > 0) {
+            return false;
+        }
+        corrections.add(() -> reserve(estimatedTokens, System.nanoTime()));
+        return true;
+    }
+
+    // Called when the provider still answers 429 so every queued call backs off, not just the failing one
+    public void pauseDispatch(Duration duration) {
+        long until = System.nanoTime() + duration.toNanos();
+        if (until - pausedUntilNanos > 0) {
+            pausedUntilNanos = until;
+        }
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                Job<?> job = queue.take();
+                if (job.isClaimed()) {
+                    continue;
+                }
+
+                long waitNanos = nanosUntilDispatchable(job.estimatedTokens, System.nanoTime());
+                if (waitNanos > 0) {
+                    // Put it back so a higher priority call that arrives meanwhile goes first
+                    queue.add(job);
+                    TimeUnit.NANOSECONDS.sleep(Math.max(waitNanos, MIN_WAIT_NANOS));
+                    continue;
+                }
+
+                inFlight.acquire();
+                // The caller may have given up while this waited for a permit
+                if (!job.claim()) {
+                    inFlight.release();
+                    continue;
+                }
+                long[] reservation = reserve(job.estimatedTokens, System.nanoTime());
+                dispatch(job, reservation);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("AI request scheduler failed to dispatch", e);
+            }
+        }
+    }
+
+    private <T> void dispatch(Job<T> job, long[] reservation) {
+        Timer.builder("ai.scheduler.queue.wait")
+                .tag("type", job.type.name())
+                .register(meterRegistry)
+                .record(System.nanoTime() - job.enqueuedAt, TimeUnit.NANOSECONDS);
+
+        executor.execute(() -> {
+            try {
+                T result = job.call.get();
+                if (job.actualTokens != null) {
+                    int actual = job.actualTokens.applyAsInt(result);
+                    if (actual >= 0) {
+                        corrections.add(() -> correct(reservation, actual));
+                    }
+                }
+                job.result.complete(result);
+            } catch (Throwable t) {
+                job.result.completeExceptionally(t);
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    long nanosUntilDispatchable(int estimatedTokens, long now) {
+        Runnable correction;
+        while ((correction = corrections.poll()) != null) {
+            correction.run();
+        }
+
+        long paused = pausedUntilNanos - now;
+        if (paused > 0) {
+            return paused;
+        }
+
+        while (!window.isEmpty() && now - window.peekFirst()[0] >= WINDOW_NANOS) {
+            long[] expired = window.pollFirst();
+            windowTokens -= expired[1];
+            expired[2] = 1;
+        }
+
+        // An empty window always admits one call so an oversized request cannot stall the queue
+        boolean requestsFull = window.size() >= requestsPerMinute;
+        boolean tokensFull = !window.isEmpty() && windowTokens + estimatedTokens > tokensPerMinute;
+        if (!requestsFull && !tokensFull) {
+            return 0;
+        }
+        return window.peekFirst()[0] + WINDOW_NANOS - now;
+    }
+
+    long[] reserve(int estimatedTokens, long now) {
+        long[] reservation = { now, estimatedTokens, 0 };
+        window.addLast(reservation);
+        windowTokens += estimatedTokens;
+        return reservation;
+    }
+
+    void correct(long[] reservation, int actualTokens) {
+        // Already aged out of the window; nothing left to correct
+        if (reservation[2] != 0) {
+            return;
+        }
+        windowTokens += actualTokens - reservation[1];
+        reservation[1] = actualTokens;
+    }
+
+    int queueDepth() {
+        return queue.size();
+    }
+
+    private long maxQueueWaitMs(AiCallType type) {
+        return switch (type) {
+            case TURN -> maxTurnWaitMs;
+            case JUDGE, SUMMARY -> maxPhaseWaitMs;
+            case HISTORY_SUMMARY -> maxHistorySummaryWaitMs;
+        };
+    }
+
+    private void reject(AiCallType type, String reason) {
+        meterRegistry.counter("ai.scheduler.rejected", "type", type.name(), "reason", reason).increment();
+    }
+
+    private static final class Job<T> {
+        private final AiCallType type;
+        private final int estimatedTokens;
+        private final Supplier<T> call;
+        private final ToIntFunction<T> actualTokens;
+        private final long sequence;
+        private final long enqueuedAt;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        // Set once by whichever comes first: the dispatcher running it, or the caller giving up on it
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private Job(AiCallType type, int estimatedTokens, Supplier<T> call, ToIntFunction<T> actualTokens,
+                long sequence, long enqueuedAt) {
+            this.type = type;
+            this.estimatedTokens = estimatedTokens;
+            this.call = call;
+            this.actualTokens = actualTokens;
+            this.sequence = sequence;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        private boolean isClaimed() {
+            return claimed.get();
+        }
+    }
+}
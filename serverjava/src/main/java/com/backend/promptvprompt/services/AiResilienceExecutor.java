@@ -0,0 +1,418 @@
+package com.backend.promptvprompt.services;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientResponseException;
+
+import com.backend.promptvprompt.exceptions.AiUnavailableException;
+import com.backend.promptvprompt.models.AiCallType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Wraps each completion call with jittered retries for transient failures and
+ * a circuit breaker that fails fast while the provider is down. Once a call is
+ * dispatched, {@link #call} times the provider alone and, for turns, hedges
+ * with a second request when the first is slower than the recent p95.
+ */
+@Service
+@RequiredArgsConstructor
+public class AiResilienceExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(AiResilienceExecutor.class);
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${openai.resilience.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${openai.resilience.backoff-base-ms:200}")
+    private long backoffBaseMs;
+
+    @Value("${openai.resilience.backoff-max-ms:5000}")
+    private long backoffMaxMs;
+
+    @Value("${openai.resilience.hedging.enabled:true}")
+    private boolean hedgingEnabled;
+
+    @Value("${openai.resilience.hedging.min-delay-ms:500}")
+    private long hedgeMinDelayMs;
+
+    @Value("${openai.resilience.hedging.min-samples:20}")
+    private int hedgeMinSamples;
+
+    @Value("${openai.resilience.circuit.window-size:20}")
+    private int circuitWindowSize;
+
+    @Value("${openai.resilience.circuit.failure-rate-threshold:0.5}")
+    private double circuitFailureRateThreshold;
+
+    @Value("${openai.resilience.circuit.open-duration-ms:30000}")
+    private long circuitOpenDurationMs;
+
+    private final LatencyWindow[] latencies = new LatencyWindow[AiCallType.values().length];
+    private CircuitBreaker circuitBreaker;
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        Arrays.setAll(latencies, i -> new LatencyWindow(200));
+        circuitBreaker = new CircuitBreaker(circuitWindowSize, circuitFailureRateThreshold,
+                TimeUnit.MILLISECONDS.toNanos(circuitOpenDurationMs));
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        meterRegistry.gauge("ai.circuit.state", circuitBreaker, breaker -> breaker.state().ordinal());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    // Each attempt is a full trip through the scheduler; provider latency is measured inside it by call()
+    public <T> T execute(AiCallType type, Supplier<T> attempt) {
+        RuntimeException lastFailure = null;
+
+        for (int attemptNumber = 1; attemptNumber <= maxAttempts; attemptNumber++) {
+            if (!circuitBreaker.tryAcquire()) {
+                count("ai.calls.rejected", type);
+                throw new AiUnavailableException("AI provider temporarily unavailable");
+            }
+
+            try {
+                T result = attempt.get();
+                circuitBreaker.onSuccess();
+                return result;
+            } catch (RuntimeException e) {
+                if (!isRetryable(e)) {
+                    // Our own bad request says nothing about provider health
+                    circuitBreaker.onIgnored();
+                    throw e;
+                }
+                circuitBreaker.onFailure();
+                lastFailure = e;
+            }
+
+            if (attemptNumber < maxAttempts) {
+                count("ai.calls.retries", type);
+                if (!sleep(backoff(attemptNumber, lastFailure))) {
+                    break;
+                }
+            }
+        }
+        throw lastFailure;
+    }
+
+    /**
+     * Runs one dispatched provider call and records its latency. A TURN call still
+     * running past the recent p95 races a second identical request when
+     * {@code tryHedge} admits one; the loser is cancelled, and if it completed
+     * anyway its result goes to {@code onDiscarded} so the spend is not lost.
+     */
+    public <T> T call(AiCallType type, Supplier<T> providerCall, BooleanSupplier tryHedge, Consumer<T> onDiscarded) {
+        long start = System.nanoTime();
+        try {
+            T result = hedged(type, providerCall, tryHedge, onDiscarded);
+            long elapsed = System.nanoTime() - start;
+            latencies[type.ordinal()].add(elapsed);
+            timer(type, "success").record(elapsed, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            timer(type, "failure").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private <T> T hedged(AiCallType type, Supplier<T> providerCall, BooleanSupplier tryHedge,
+            Consumer<T> onDiscarded) {
+        long hedgeDelayNanos = hedgeDelayNanos(type);
+        if (hedgeDelayNanos <= 0) {
+            return providerCall.get();
+        }
+
+        CompletableFuture<T> primary = new CompletableFuture<>();
+        Future<?> primaryTask = executor.submit(() -> run(providerCall, primary));
+        Future<?> hedgeTask = null;
+        try {
+            try {
+                return primary.get(hedgeDelayNanos, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                if (!tryHedge.getAsBoolean()) {
+                    return primary.get();
+                }
+                count("ai.calls.hedges", type);
+                CompletableFuture<T> hedge = new CompletableFuture<>();
+                hedgeTask = executor.submit(() -> run(providerCall, hedge));
+                return firstSuccessful(primary, hedge, onDiscarded).get();
+            }
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for AI response", e);
+        } finally {
+            // Interrupts whichever request is still in flight; the finished one is unaffected
+            primaryTask.cancel(true);
+            if (hedgeTask != null) {
+                hedgeTask.cancel(true);
+            }
+        }
+    }
+
+    private static <T> void run(Supplier<T> call, CompletableFuture<T> result) {
+        try {
+            result.complete(call.get());
+        } catch (Throwable t) {
+            result.completeExceptionally(t);
+        }
+    }
+
+    // Only turns are hedged: a player is waiting on them, and they are short enough to duplicate cheaply
+    private long hedgeDelayNanos(AiCallType type) {
+        if (!hedgingEnabled || type != AiCallType.TURN) {
+            return 0;
+        }
+        long p95 = latencies[type.ordinal()].percentile(0.95, hedgeMinSamples);
+        if (p95 <= 0) {
+            return 0;
+        }
+        return Math.max(p95, TimeUnit.MILLISECONDS.toNanos(hedgeMinDelayMs));
+    }
+
+    private static <T> CompletableFuture<T> firstSuccessful(CompletableFuture<T> first, CompletableFuture<T> second,
+            Consumer<T> onDiscarded) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        for (CompletableFuture<T> candidate : List.of(first, second)) {
+            candidate.whenComplete((value, error) -> {
+                if (error == null) {
+                    if (!winner.complete(value)) {
+                        onDiscarded.accept(value);
+                    }
+                } else if (failures.incrementAndGet() == 2) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        return winner;
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof RuntimeException runtimeException
+                ? runtimeException
+                : new RuntimeException(cause);
+    }
+
+    static boolean isRetryable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ResourceAccessException) {
+                return true;
+            }
+            if (cause instanceof RestClientResponseException response) {
+                HttpStatusCode status = response.getStatusCode();
+                return status.is5xxServerError() || status.value() == 429 || status.value() == 408;
+            }
+        }
+        return false;
+    }
+
+    // Full jitter exponential backoff, honouring the provider's Retry-After but never past backoffMaxMs
+    Duration backoff(int attemptNumber, Throwable failure) {
+        long cap = Math.min(backoffMaxMs, backoffBaseMs << Math.min(attemptNumber - 1, 20));
+        long delay = ThreadLocalRandom.current().nextLong(cap + 1);
+        long retryAfterMs = Math.min(retryAfter(failure).toMillis(), backoffMaxMs);
+        return Duration.ofMillis(Math.max(retryAfterMs, delay));
+    }
+
+    // Retry-After in seconds from the provider's error response, zero when absent
+    static Duration retryAfter(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RestClientResponseException response && response.getResponseHeaders() != null) {
+                String header = response.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+                try {
+                    return header != null ? Duration.ofSeconds(Long.parseLong(header.trim())) : Duration.ZERO;
+                } catch (NumberFormatException ignored) {
+                    return Duration.ZERO;
+                }
+            }
+        }
+        return Duration.ZERO;
+    }
+
+    private static boolean sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private Timer timer(AiCallType type, String outcome) {
+        return Timer.builder("ai.calls")
+                .tag("type", type.name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private void count(String name, AiCallType type) {
+        meterRegistry.counter(name, "type", type.name()).increment();
+    }
+
+    CircuitBreaker.State circuitState() {
+        return circuitBreaker.state();
+    }
+
+    /** Recent successful latencies for one call type, used to pick the hedge delay. */
+    static final class LatencyWindow {
+        private final long[] samples;
+        private int next;
+        private int size;
+
+        LatencyWindow(int capacity) {
+            this.samples = new long[capacity];
+        }
+
+        synchronized void add(long nanos) {
+            samples[next] = nanos;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        synchronized long percentile(double quantile, int minSamples) {
+            if (size < minSamples) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(samples, size);
+            Arrays.sort(sorted);
+            return sorted[Math.min(size - 1, (int) Math.ceil(quantile * size) - 1)];
+        }
+    }
+
+    /**
+     * Count-based breaker: opens when the failure rate over the last
+     * {@code windowSize} calls crosses the threshold, then lets a single trial
+     * call through after the open duration.
+     */
+    static final class CircuitBreaker {
+        enum State {
+            CLOSED, HALF_OPEN, OPEN
+        }
+
+        private final boolean[] outcomes;
+        private final double failureRateThreshold;
+        private final long openDurationNanos;
+        private int next;
+        private int recorded;
+        private int failures;
+        private State state = State.CLOSED;
+        private long openedAt;
+        private boolean trialInFlight;
+
+        CircuitBreaker(int windowSize, double failureRateThreshold, long openDurationNanos) {
+            this.outcomes = new boolean[windowSize];
+            this.failureRateThreshold = failureRateThreshold;
+            this.openDurationNanos = openDurationNanos;
+        }
+
+        synchronized boolean tryAcquire() {
+            if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+                state = State.HALF_OPEN;
+                trialInFlight = false;
+            }
+            if (state == State.OPEN) {
+                return false;
+            }
+            if (state == State.HALF_OPEN) {
+                if (trialInFlight) {
+                    return false;
+                }
+                trialInFlight = true;
+            }
+            return true;
+        }
+
+        synchronized void onSuccess() {
+            if (state == State.HALF_OPEN) {
+                reset();
+                return;
+            }
+            record(false);
+        }
+
+        synchronized void onFailure() {
+            if (state == State.HALF_OPEN) {
+                open();
+                return;
+            }
+            record(true);
+            if (recorded == outcomes.length && (double) failures / recorded >= failureRateThreshold) {
+                open();
+            }
+        }
+
+        synchronized void onIgnored() {
+            trialInFlight = false;
+        }
+
+        synchronized State state() {
+            return state;
+        }
+
+        private void record(boolean failed) {
+            if (recorded == outcomes.length && outcomes[next]) {
+                failures--;
+            }
+            outcomes[next] = failed;
+            if (failed) {
+                failures++;
+            }
+            next = (next + 1) % outcomes.length;
+            recorded = Math.min(recorded + 1, outcomes.length);
+        }
+
+        private void open() {
+            state = State.OPEN;
+            openedAt = System.nanoTime();
+            logger.warn("AI provider circuit opened");
+        }
+
+        private void reset() {
+            Arrays.fill(outcomes, false);
+            next = 0;
+            recorded = 0;
+            failures = 0;
+            state = State.CLOSED;
+            trialInFlight = false;
+        }
+    }
+}
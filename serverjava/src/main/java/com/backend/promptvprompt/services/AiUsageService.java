@@ -0,0 +1,144 @@
+package com.backend.promptvprompt.services;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.backend.promptvprompt.DTO.Ai.TokenUsageSummary;
+import com.backend.promptvprompt.models.AiCallType;
+import com.backend.promptvprompt.models.AiCallUsage;
+import com.backend.promptvprompt.models.Game;
+import com.backend.promptvprompt.models.User;
+import com.backend.promptvprompt.repos.AiCallUsageRepo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Records the provider-reported token usage of every completion call. Rows are
+ * queued and written behind in batches by a single writer, so the database is
+ * never on the AI call's path: a slow or failing insert cannot delay or fail a
+ * call that was already paid for. Rows that cannot be written are counted in
+ * ai.usage.dropped and logged.
+ */
+@Service
+@RequiredArgsConstructor
+public class AiUsageService {
+    private static final Logger logger = LoggerFactory.getLogger(AiUsageService.class);
+
+    private final AiCallUsageRepo aiCallUsageRepo;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${openai.usage.max-batch:200}")
+    private int maxBatch;
+
+    // Past this many unwritten rows new ones are dropped rather than growing the heap while the database is down
+    @Value("${openai.usage.queue-capacity:10000}")
+    private int queueCapacity;
+
+    private LinkedBlockingQueue<AiCallUsage> queue;
+    private volatile boolean running;
+    private Thread writer;
+
+    @PostConstruct
+    void start() {
+        queue = new LinkedBlockingQueue<>(queueCapacity);
+        meterRegistry.gauge("ai.usage.queue.depth", queue, LinkedBlockingQueue::size);
+
+        running = true;
+        writer = Thread.ofPlatform().name("ai-usage-writer").daemon().start(this::writeLoop);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+
+        List<AiCallUsage> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            write(remaining);
+        }
+    }
+
+    // Never throws: usage is bookkeeping, and the call it describes has already succeeded
+    public void record(Game game, String playerId, AiCallType type, int promptTokens, int completionTokens,
+            Integer cachedTokens, long latencyMs) {
+        try {
+            User player = playerId.equals(game.getPlayerOne().getId()) ? game.getPlayerOne() : game.getPlayerTwo();
+            AiCallUsage usage = AiCallUsage.builder()
+                    .game(game)
+                    .player(player)
+                    .callType(type)
+                    .phase(game.getPhase())
+                    .promptTokens(promptTokens)
+                    .completionTokens(completionTokens)
+                    .cachedTokens(cachedTokens)
+                    .latencyMs(latencyMs)
+                    .build();
+
+            if (!queue.offer(usage)) {
+                dropped("queue_full", 1);
+            }
+        } catch (RuntimeException e) {
+            dropped("invalid", 1);
+            logger.atWarn()
+                    .addKeyValue("gameId", game == null ? null : game.getId())
+                    .addKeyValue("userId", playerId)
+                    .setCause(e)
+                    .log("Could not record AI usage");
+        }
+    }
+
+    public List<TokenUsageSummary> usageForGame(String gameId) {
+        return aiCallUsageRepo.summarizeByGame(gameId);
+    }
+
+    public List<TokenUsageSummary> usageForPlayer(String playerId) {
+        return aiCallUsageRepo.summarizeByPlayer(playerId);
+    }
+
+    public List<TokenUsageSummary> usageSince(LocalDateTime since) {
+        return aiCallUsageRepo.summarizeSince(since);
+    }
+
+    private void writeLoop() {
+        while (running) {
+            try {
+                List<AiCallUsage> batch = new ArrayList<>();
+                batch.add(queue.take());
+                queue.drainTo(batch, maxBatch - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void write(List<AiCallUsage> batch) {
+        try {
+            aiCallUsageRepo.saveAll(batch);
+        } catch (RuntimeException e) {
+            dropped("write_failed", batch.size());
+            logger.atWarn()
+                    .addKeyValue("rows", batch.size())
+                    .setCause(e)
+                    .log("Could not write AI usage batch");
+        }
+    }
+
+    private void dropped(String reason, int rows) {
+        meterRegistry.counter("ai.usage.dropped", "reason", reason).increment(rows);
+    }
+}
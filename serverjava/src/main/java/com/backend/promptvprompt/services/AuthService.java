@@ -5,6 +5,7 @@ import java.util.Arrays;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,6 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
 import com.backend.promptvprompt.DTO.Auth.AuthResponse;
 import com.backend.promptvprompt.DTO.Auth.LoginRequest;
 import com.backend.promptvprompt.DTO.Auth.RegistrationRequest;
+import com.backend.promptvprompt.DTO.Auth.UserCredentials;
 import com.backend.promptvprompt.controllers.GameSocketController;
 import com.backend.promptvprompt.exceptions.InvalidCredentialsException;
 import com.backend.promptvprompt.exceptions.UserAlreadyExistsException;
@@ -41,15 +43,6 @@ public class AuthService {
 
     @Transactional
     public AuthResponse register(RegistrationRequest request, HttpServletResponse response) {
-
-        if (userRepo.existsByEmail(request.getEmail())) {
-            throw new UserAlreadyExistsException("Email is already registered");
-        }
-
-        if (userProfileRepo.existsByDisplayName(request.getUsername())) {
-            throw new UserAlreadyExistsException("Username is already taken");
-        }
-
         User user = User.builder()
                 .email(request.getEmail())
                 .passwordHash(passwordEncoder.encode(request.getPassword()))
@@ -69,6 +62,15 @@ public class AuthService {
                 .build();
 
         userProfileRepo.save(userProfile);
+
+        // Uniqueness is enforced by the users/user_profiles constraints instead of
+        // pre-check queries; flush here so a duplicate surfaces as a 409, not a 500
+        try {
+            userProfileRepo.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw toUserAlreadyExists(e);
+        }
+
         String accessToken = jwtService.generateAccessToken(savedUser.getId(), savedUser.getEmail());
         RefreshToken refreshToken = refreshTokenService.createRefreshToken(savedUser.getId());
 
@@ -86,26 +88,23 @@ public class AuthService {
 
     @Transactional
     public AuthResponse login(LoginRequest request, HttpServletResponse response) {
-        // Find user profile by username
-        UserProfile userProfile = userProfileRepo.findByDisplayName(request.getUsername())
+        // Resolve id, email, password hash and display name in one query
+        UserCredentials credentials = userProfileRepo.findCredentialsByDisplayName(request.getUsername())
                 .orElseThrow(() -> new InvalidCredentialsException("Invalid username or password"));
 
-        // Get the associated user
-        User user = userProfile.getUser();
-
         // Verify password
-        if (!passwordEncoder.matches(request.getPassword(), user.getPasswordHash())) {
+        if (!passwordEncoder.matches(request.getPassword(), credentials.getPasswordHash())) {
             throw new InvalidCredentialsException("Invalid username or password");
         }
-        String accessToken = jwtService.generateAccessToken(user.getId(), user.getEmail());
+        String accessToken = jwtService.generateAccessToken(credentials.getUserId(), credentials.getEmail());
 
-        RefreshToken refreshToken = refreshTokenService.createRefreshToken(user.getId());
+        RefreshToken refreshToken = refreshTokenService.createRefreshToken(credentials.getUserId());
         addRefreshTokenCookie(response, refreshToken.getToken());
 
         return AuthResponse.builder()
-                .userId(user.getId())
-                .email(user.getEmail())
-                .username(userProfile.getDisplayName())
+                .userId(credentials.getUserId())
+                .email(credentials.getEmail())
+                .username(credentials.getDisplayName())
                 .accessToken(accessToken)
                 .message("Login successful")
                 .build();
@@ -142,6 +141,18 @@ public class AuthService {
 
     }
 
+    private UserAlreadyExistsException toUserAlreadyExists(DataIntegrityViolationException e) {
+        String detail = String.valueOf(e.getMostSpecificCause().getMessage());
+
+        if (detail.contains(User.EMAIL_CONSTRAINT) || detail.contains("(email)")) {
+            return new UserAlreadyExistsException("Email is already registered");
+        }
+        if (detail.contains(UserProfile.DISPLAY_NAME_CONSTRAINT) || detail.contains("(display_name)")) {
+            return new UserAlreadyExistsException("Username is already taken");
+        }
+        throw e;
+    }
+
     private void addRefreshTokenCookie(HttpServletResponse response, String refreshToken) {
         Cookie cookie = new Cookie("refreshToken", refreshToken);
         cookie.setHttpOnly(true);
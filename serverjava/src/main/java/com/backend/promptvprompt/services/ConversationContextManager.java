@@ -0,0 +1,176 @@
+package com.backend.promptvprompt.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.backend.promptvprompt.events.GameCompletedEvent;
+import com.backend.promptvprompt.models.GamePhase;
+import com.backend.promptvprompt.models.GameTurn;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps the history part of a turn prompt bounded. The last few turns are sent
+ * verbatim and everything older is folded into a running summary per game,
+ * player and phase. Folding happens in the background after a reply, so the
+ * turn that crosses the threshold does not wait for the summary call.
+ *
+ * It also holds the rendered system prefix for each game, so every request
+ * under the same cache key starts with byte-identical messages.
+ */
+@Service
+public class ConversationContextManager {
+    private static final Logger logger = LoggerFactory.getLogger(ConversationContextManager.class);
+
+    @Value("${openai.context.max-history-tokens:1500}")
+    private int maxHistoryTokens;
+
+    // Turns always sent verbatim
+    @Value("${openai.context.recent-turns:4}")
+    private int recentTurns;
+
+    // Older turns wait until this many have piled up, so one summary call covers several turns
+    @Value("${openai.context.fold-batch:2}")
+    private int foldBatch;
+
+    @Value("${openai.context.idle-eviction-ms:3600000}")
+    private long idleEvictionMs;
+
+    private final GameScopedMap<ContextKey, RunningSummary> summaries = new GameScopedMap<>();
+    private final Set<ContextKey> folding = ConcurrentHashMap.newKeySet();
+    private final GameScopedMap<String, List<String>> prefixes = new GameScopedMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    public static ContextKey key(String gameId, String playerId, GamePhase phase) {
+        return new ContextKey(gameId, playerId, phase);
+    }
+
+    /** Returns the system messages that lead every request under this cache key, rendering them once. */
+    public List<String> systemPrefix(String gameId, String cacheKey, Supplier<List<String>> render) {
+        return prefixes.computeIfAbsent(gameId, cacheKey, k -> List.copyOf(render.get()));
+    }
+
+    /** Picks the summary and verbatim turns to send for the given phase history, oldest first. */
+    public ContextWindow select(ContextKey key, List<GameTurn> history) {
+        RunningSummary summary = summaries.get(key.gameId(), key);
+        if (summary != null && summary.coveredTurns() > history.size()) {
+            summary = null;
+        }
+
+        int covered = summary == null ? 0 : summary.coveredTurns();
+        List<GameTurn> verbatim = new ArrayList<>(history.subList(covered, history.size()));
+
+        int foldTo = 0;
+        if (verbatim.size() >= recentTurns + foldBatch) {
+            foldTo = history.size() - recentTurns;
+        }
+
+        // Hard cap: if the provider would still see too much, drop the oldest verbatim turns now and fold them later
+        int budget = maxHistoryTokens - (summary == null ? 0 : estimateTokens(summary.text()));
+        int verbatimTokens = verbatim.stream().mapToInt(ConversationContextManager::estimateTokens).sum();
+        int dropped = 0;
+        while (verbatimTokens > budget && verbatim.size() > 1) {
+            verbatimTokens -= estimateTokens(verbatim.remove(0));
+            dropped++;
+        }
+        if (dropped > 0) {
+            foldTo = Math.max(foldTo, covered + dropped);
+        }
+
+        return new ContextWindow(summary == null ? null : summary.text(), verbatim, foldTo);
+    }
+
+    /**
+     * Folds history[covered..foldTo) into the running summary on a background
+     * thread. At most one fold per key runs at a time; a later turn picks up
+     * whatever is still uncovered. A fold still running when the game completes
+     * is discarded.
+     */
+    public void foldAsync(ContextKey key, List<GameTurn> history, int foldTo,
+            BiFunction<String, List<GameTurn>, String> summarizer) {
+        if (foldTo <= 0 || !folding.add(key)) {
+            return;
+        }
+        Map<ContextKey, RunningSummary> gameSummaries = summaries.reserve(key.gameId());
+
+        executor.execute(() -> {
+            try {
+                RunningSummary previous = gameSummaries.get(key);
+                int from = previous == null ? 0 : previous.coveredTurns();
+                if (from >= foldTo) {
+                    return;
+                }
+                String text = summarizer.apply(previous == null ? null : previous.text(),
+                        history.subList(from, foldTo));
+                gameSummaries.put(key, new RunningSummary(foldTo, text));
+            } catch (RuntimeException e) {
+                // The next turn sends more verbatim history (still capped) and retries the fold
+                logger.warn("Failed to fold conversation history for {}", key, e);
+            } finally {
+                folding.remove(key);
+            }
+        });
+    }
+
+    @EventListener
+    public void onGameCompleted(GameCompletedEvent event) {
+        summaries.remove(event.getGameId());
+        prefixes.remove(event.getGameId());
+    }
+
+    @Scheduled(fixedDelayString = "${openai.context.eviction-interval-ms:300000}")
+    public void evictIdle() {
+        summaries.evictIdle(idleEvictionMs);
+        prefixes.evictIdle(idleEvictionMs);
+    }
+
+    static int estimateTokens(String text) {
+        return text == null ? 0 : text.length() / 4;
+    }
+
+    private static int estimateTokens(GameTurn turn) {
+        return estimateTokens(turn.getPlayerMessage()) + estimateTokens(turn.getAiResponse());
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class ContextWindow {
+        // Null until older turns have been folded
+        private final String summary;
+        private final List<GameTurn> verbatimTurns;
+        // History index up to which turns should be folded, 0 when nothing is due
+        private final int foldTo;
+
+        public boolean needsFold() {
+            return foldTo > 0;
+        }
+    }
+
+    // One player's conversation in one phase of a game
+    public record ContextKey(String gameId, String playerId, GamePhase phase) {
+    }
+
+    private record RunningSummary(int coveredTurns, String text) {
+    }
+}
@@ -0,0 +1,124 @@
+package com.backend.promptvprompt.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.backend.promptvprompt.repos.GameArchiveRepo;
+import com.backend.promptvprompt.repos.GameRepo;
+import com.backend.promptvprompt.repos.GameTurnRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Moves completed games out of the live tables once they are older than
+ * game.archive.after-days. A game's replay line is gzipped into game_archives,
+ * its turns are deleted and the games row is kept as a stub, all in one
+ * transaction per batch. Readers go through {@link ReplayExportService}, which
+ * serves archived and live games alike.
+ */
+@Service
+@RequiredArgsConstructor
+public class GameArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(GameArchiveService.class);
+
+    private final GameRepo gameRepo;
+    private final GameTurnRepo gameTurnRepo;
+    private final GameArchiveRepo gameArchiveRepo;
+    private final ReplayExportService replayExportService;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${game.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${game.archive.after-days:180}")
+    private long afterDays;
+
+    @Value("${game.archive.batch-size:100}")
+    private int batchSize;
+
+    @Value("${game.archive.max-batches-per-run:100}")
+    private int maxBatchesPerRun;
+
+    private TransactionTemplate transactionTemplate;
+    private Counter archivedCounter;
+    private Timer runTimer;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        archivedCounter = meterRegistry.counter("games.archive.archived");
+        runTimer = meterRegistry.timer("games.archive.run");
+    }
+
+    // Off-peak by default; each batch is its own short transaction so live traffic is never blocked for long
+    @Scheduled(cron = "${game.archive.cron:0 30 3 * * *}")
+    public void archiveCompletedGames() {
+        if (!enabled) {
+            return;
+        }
+
+        runTimer.record(() -> {
+            LocalDateTime cutoff = LocalDateTime.now().minusDays(afterDays);
+            int runArchived = 0;
+
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                int archived = transactionTemplate.execute(status -> archiveBatch(cutoff));
+                runArchived += archived;
+                archivedCounter.increment(archived);
+
+                if (archived < batchSize) {
+                    break;
+                }
+            }
+
+            if (runArchived > 0) {
+                logger.info("Archived {} completed games older than {}", runArchived, cutoff);
+            }
+        });
+    }
+
+    private int archiveBatch(LocalDateTime cutoff) {
+        List<String> gameIds = gameRepo.lockArchivableIds(cutoff, batchSize);
+        if (gameIds.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (String gameId : gameIds) {
+            Optional<byte[]> replay = replayExportService.renderGame(gameId);
+            // Locked as COMPLETED above, so the game always renders
+            gameArchiveRepo.insert(gameId, gzip(replay.orElseThrow()), now);
+        }
+        gameTurnRepo.deleteByGameIds(gameIds);
+        gameRepo.stubArchived(gameIds, now);
+        return gameIds.size();
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzipOut = new GZIPOutputStream(out)) {
+            gzipOut.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,48 @@
+package com.backend.promptvprompt.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+
+import com.backend.promptvprompt.models.GameEndReason;
+import com.backend.promptvprompt.models.UserProfile;
+import com.backend.promptvprompt.repos.GameRepo;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+@Service
+@RequiredArgsConstructor
+public class GameResultService {
+    private final GameRepo gameRepo;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Marks the game COMPLETED and applies the result to both players' profiles
+     * in a single statement. Returns false when the game had already been
+     * completed, e.g. by a concurrent judge of the same game, in which case
+     * nothing is written.
+     */
+    public boolean complete(String gameId, String winnerId, GameEndReason endReason) {
+        // Stored in the JVM's local time like every other timestamp; only the daily counter's day starts at
+        // midnight UTC, expressed here in local time so it compares against last_game_date
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime startOfDay = LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC)
+                .withZoneSameInstant(ZoneId.systemDefault()).toLocalDateTime();
+
+        List<String> updatedProfiles = gameRepo.completeGame(gameId, winnerId, endReason.name(), startOfDay, now);
+        if (updatedProfiles.isEmpty()) {
+            return false;
+        }
+
+        // The statement bypassed the persistence context, so drop just these two profiles from the second-level
+        // cache. Callers hold no transaction (see GameService.determineWinner), so completeGame has committed by now
+        // and a concurrent read cannot re-cache the old stats
+        updatedProfiles.forEach(profileId -> entityManagerFactory.getCache().evict(UserProfile.class, profileId));
+        return true;
+    }
+}
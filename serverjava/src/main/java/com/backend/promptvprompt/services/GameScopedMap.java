@@ -0,0 +1,70 @@
+package com.backend.promptvprompt.services;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * In-memory state that only lives as long as its game, grouped by game id so a
+ * completed game drops everything it held with one remove. Abandoned games never
+ * complete, so a game nobody has read or written for the idle timeout is dropped
+ * as a whole instead.
+ */
+final class GameScopedMap<K, V> {
+    private final Map<String, Entries<K, V>> games = new ConcurrentHashMap<>();
+
+    V get(String gameId, K key) {
+        Entries<K, V> entries = games.get(gameId);
+        if (entries == null) {
+            return null;
+        }
+        entries.lastUsedAt = System.currentTimeMillis();
+        return entries.values.get(key);
+    }
+
+    V computeIfAbsent(String gameId, K key, Function<? super K, ? extends V> create) {
+        return entries(gameId).values.computeIfAbsent(key, create);
+    }
+
+    void put(String gameId, K key, V value) {
+        entries(gameId).values.put(key, value);
+    }
+
+    void computeIfPresent(String gameId, K key, BiFunction<? super K, ? super V, ? extends V> remap) {
+        Entries<K, V> entries = games.get(gameId);
+        if (entries != null) {
+            entries.lastUsedAt = System.currentTimeMillis();
+            entries.values.computeIfPresent(key, remap);
+        }
+    }
+
+    /**
+     * The game's entries as they are now, for work that finishes later. Once the
+     * game is removed the returned map is detached, so a late write lands there and
+     * is dropped with it instead of bringing the game back.
+     */
+    Map<K, V> reserve(String gameId) {
+        return entries(gameId).values;
+    }
+
+    void remove(String gameId) {
+        games.remove(gameId);
+    }
+
+    void evictIdle(long idleMs) {
+        long cutoff = System.currentTimeMillis() - idleMs;
+        games.values().removeIf(entries -> entries.lastUsedAt < cutoff);
+    }
+
+    private Entries<K, V> entries(String gameId) {
+        Entries<K, V> entries = games.computeIfAbsent(gameId, id -> new Entries<>());
+        entries.lastUsedAt = System.currentTimeMillis();
+        return entries;
+    }
+
+    private static final class Entries<K, V> {
+        private final Map<K, V> values = new ConcurrentHashMap<>();
+        private volatile long lastUsedAt = System.currentTimeMillis();
+    }
+}
@@ -1,11 +1,22 @@
 package com.backend.promptvprompt.services;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Optional;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.backend.promptvprompt.DTO.Ai.AiReply;
+import com.backend.promptvprompt.DTO.Game.GameRoomRow;
+import com.backend.promptvprompt.DTO.Game.GameRoomView;
+import com.backend.promptvprompt.events.GameCompletedEvent;
 import com.backend.promptvprompt.models.Game;
 import com.backend.promptvprompt.models.GameEndReason;
 import com.backend.promptvprompt.models.GamePhase;
@@ -18,6 +29,9 @@ import com.backend.promptvprompt.repos.GameTurnRepo;
 import com.backend.promptvprompt.repos.ScenarioTemplateRepo;
 import com.backend.promptvprompt.repos.UserRepo;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 
@@ -29,8 +43,30 @@ public class GameService {
     private final ScenarioTemplateRepo scenarioTemplateRepo;
     private final UserRepo userRepo;
     private final AiService aiService;
+    private final TranscriptBuffer transcriptBuffer;
+    private final TurnJournal turnJournal;
+    private final GameResultService gameResultService;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
     private final Random random = new Random();
 
+    private final AtomicLong activeGames = new AtomicLong();
+
+    // Longer than generating both defense summaries takes; a claim older than this is taken over
+    private static final Duration TRANSITION_CLAIM_LEASE = Duration.ofMinutes(2);
+
+    @PostConstruct
+    void registerMetrics() {
+        meterRegistry.gauge("games.active", activeGames);
+    }
+
+    // Counted from the database so every node reports the same number
+    @Scheduled(fixedDelayString = "${metrics.active-games.refresh-ms:15000}")
+    public void refreshActiveGames() {
+        activeGames.set(gameRepo.countByStatusIn(
+                EnumSet.of(GameStatus.DEFENSE_PHASE, GameStatus.ATTACK_PHASE)));
+    }
+
     @Transactional
     public Game createGameFromMatch(String playerOneId, String playerTwoId) {
         try {
@@ -66,9 +102,12 @@ public class GameService {
         return game.getPhase();
     }
 
-    @Transactional
+    // Deliberately not transactional: a held transaction would pin a pooled connection through the AI call
+    // and while waiting on the turn journal, which needs a connection of its own to commit the turn. The
+    // phase and end checks after it are called on this instance, not through the proxy, so they get no
+    // transaction either; each state change they make is one conditional UPDATE that only a single caller wins
     public GameTurn submitTurn(String gameId, String playerId, String message) {
-        Game game = gameRepo.findById(gameId)
+        Game game = gameRepo.findWithPlayersById(gameId)
                 .orElseThrow(() -> new RuntimeException("Game not found"));
 
         validateTurn(game, playerId, message);
@@ -79,24 +118,27 @@ public class GameService {
             throw new IllegalStateException("Turn limit reached");
         }
 
-        String aiResponse = aiService.getResponse(game, playerId, message, game.getPhase());
-        User player = userRepo.findById(playerId)
-                .orElseThrow(() -> new RuntimeException("Player not found"));
+        AiReply aiReply = aiService.getResponse(game, playerId, message, game.getPhase(), turnCount);
+        // validateTurn already checked the caller is one of the two players
+        User player = playerId.equals(game.getPlayerOne().getId()) ? game.getPlayerOne() : game.getPlayerTwo();
         GameTurn turn = GameTurn.builder()
                 .game(game)
                 .player(player)
                 .phase(game.getPhase())
                 .turnNumber(turnCount + 1)
                 .playerMessage(message)
-                .aiResponse(aiResponse)
+                .aiResponse(aiReply.getContent())
+                .promptTokens(aiReply.getPromptTokens())
+                .completionTokens(aiReply.getCompletionTokens())
                 .build();
 
-        GameTurn savedTurn = gameTurnRepo.save(turn);
+        turnJournal.persist(turn);
+        transcriptBuffer.append(gameId, playerId, turn);
 
         checkPhaseTransition(gameId);
         checkGameEnd(gameId);
 
-        return savedTurn;
+        return turn;
     }
 
     void validateTurn(Game game, String playerId, String message) {
@@ -121,12 +163,41 @@ public class GameService {
         return gameTurnRepo.countByGameIdAndPlayerIdAndPhase(gameId, playerId, phase);
     }
 
-    public List<GameTurn> getTurns(String gameId, String playerId, GamePhase phase) {
-        return gameTurnRepo.findByGameIdAndPlayerIdAndPhaseOrderByTurnNumberAsc(
-                gameId, playerId, phase);
+    // Everything the game room shows this player, from a single query
+    public Optional<GameRoomView> findGameRoom(String gameId, String userId) {
+        List<GameRoomRow> rows = gameRepo.findGameRoomRows(gameId);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        int opponentTurnCount = 0;
+        List<GameTurn> myTurns = new ArrayList<>();
+        for (GameRoomRow row : rows) {
+            if (!row.hasTurn()) {
+                continue;
+            }
+            if (userId.equals(row.getTurnPlayerId())) {
+                myTurns.add(row.toTurn());
+            } else {
+                opponentTurnCount++;
+            }
+        }
+
+        GameRoomRow game = rows.get(0);
+        return Optional.of(new GameRoomView(
+                game.getGameId(),
+                game.getPlayerOneId(),
+                game.getPlayerTwoId(),
+                game.getPhase(),
+                game.getStatus(),
+                game.getMaxTurnsPerPhase(),
+                Boolean.TRUE.equals(game.getIsTransitioning()),
+                game.getTransitionEndsAt(),
+                myTurns.size(),
+                opponentTurnCount,
+                myTurns));
     }
 
-    @Transactional
     public void checkPhaseTransition(String gameId) {
         Game game = gameRepo.findById(gameId)
                 .orElseThrow(() -> new RuntimeException("Game not found"));
@@ -144,44 +215,42 @@ public class GameService {
         }
     }
 
-    @Transactional
+    // Both players can finish their defense turns at once; only the caller that claims the transition
+    // generates the two summaries
     public void transitionToAttack(String gameId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (gameRepo.claimAttackTransition(gameId, now, now.plus(TRANSITION_CLAIM_LEASE)) == 0) {
+            return;
+        }
+
         Game game = gameRepo.findById(gameId)
                 .orElseThrow(() -> new RuntimeException("Game not found"));
 
-        String p1Summary = generateDefenseSummary(gameId, game.getPlayerOne().getId());
-        String p2Summary = generateDefenseSummary(gameId, game.getPlayerTwo().getId());
-
-        game.setStatus(GameStatus.ATTACK_PHASE);
-        game.setPhase(GamePhase.ATTACK);
-        game.setPlayerOneDefenseSummary(p1Summary);
-        game.setPlayerTwoDefenseSummary(p2Summary);
-        game.setIsTransitioning(true);
-        game.setTransitionEndsAt(LocalDateTime.now().plusSeconds(5));
-
-        gameRepo.save(game);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            String p1Summary = generateDefenseSummary(game, game.getPlayerOne().getId());
+            String p2Summary = generateDefenseSummary(game, game.getPlayerTwo().getId());
+            gameRepo.completeAttackTransition(gameId, p1Summary, p2Summary,
+                    LocalDateTime.now().plusSeconds(5), LocalDateTime.now());
+        } catch (RuntimeException e) {
+            gameRepo.releaseAttackTransition(gameId);
+            throw e;
+        }
+        sample.stop(meterRegistry.timer("game.phase.transition", "to", GamePhase.ATTACK.name()));
     }
 
-    @Transactional
     public void endTransition(String gameId) {
-        Game game = gameRepo.findById(gameId)
-                .orElseThrow(() -> new RuntimeException("Game not found"));
-
-        game.setIsTransitioning(false);
-        game.setTransitionEndsAt(null);
-
-        gameRepo.save(game);
+        gameRepo.endTransition(gameId, LocalDateTime.now());
     }
 
-    public String generateDefenseSummary(String gameId, String playerId) {
+    public String generateDefenseSummary(Game game, String playerId) {
         List<GameTurn> turns = gameTurnRepo
                 .findByGameIdAndPlayerIdAndPhaseOrderByTurnNumberAsc(
-                        gameId, playerId, GamePhase.DEFENSE);
+                        game.getId(), playerId, GamePhase.DEFENSE);
 
-        return aiService.summarizeDefense(turns);
+        return aiService.summarizeDefense(game, playerId, turns);
     }
 
-    @Transactional
     public boolean checkGameEnd(String gameId) {
         Game game = gameRepo.findById(gameId)
                 .orElseThrow(() -> new RuntimeException("Game not found"));
@@ -190,6 +259,11 @@ public class GameService {
             return false;
         }
 
+        // Already judged; every state refresh lands here and must not re-run the judge
+        if (game.getStatus() == GameStatus.COMPLETED) {
+            return true;
+        }
+
         int p1AttackTurns = getTurnCount(gameId, game.getPlayerOne().getId(), GamePhase.ATTACK);
         int p2AttackTurns = getTurnCount(gameId, game.getPlayerTwo().getId(), GamePhase.ATTACK);
 
@@ -201,7 +275,8 @@ public class GameService {
         return false;
     }
 
-    @Transactional
+    // Not transactional: the judge calls are slow, and the result statement commits on its own so the profile
+    // eviction after it cannot race a read of the old stats
     public void determineWinner(String gameId) {
         Game game = gameRepo.findById(gameId)
                 .orElseThrow(() -> new RuntimeException("Game not found"));
@@ -218,10 +293,10 @@ public class GameService {
                         gameId, game.getPlayerTwo().getId(), GamePhase.ATTACK);
 
         boolean p1Succeeded = aiService.checkSecretRevealed(
-                game, p1AttackTurns);
+                game, game.getPlayerOne().getId(), p1AttackTurns);
 
         boolean p2Succeeded = aiService.checkSecretRevealed(
-                game, p2AttackTurns);
+                game, game.getPlayerTwo().getId(), p2AttackTurns);
 
         if (p1Succeeded && !p2Succeeded) {
             winner = game.getPlayerOne();
@@ -237,16 +312,25 @@ public class GameService {
             endReason = GameEndReason.DRAW;
         }
 
-        game.setStatus(GameStatus.COMPLETED);
-        game.setWinner(winner);
-        game.setEndReason(endReason);
-
-        gameRepo.save(game);
-    }
+        String winnerId = winner == null ? null : winner.getId();
+        // Both players can finish the attack phase at once; only the judge that claims the game records the result
+        // The result is written by that statement alone; the game loaded above is detached and stays as read
+        if (!gameResultService.complete(gameId, winnerId, endReason)) {
+            return;
+        }
 
-    public Game getGame(String gameId) {
-        return gameRepo.findByIdWithTemplateAndTurns(gameId)
-                .orElseThrow(() -> new RuntimeException("Game not found"));
+        eventPublisher.publishEvent(new GameCompletedEvent(
+                gameId,
+                game.getPlayerOne().getId(),
+                game.getPlayerTwo().getId(),
+                winnerId,
+                endReason));
+
+        meterRegistry.counter("games.completed", "reason", endReason.name()).increment();
+        if (game.getCreatedAt() != null) {
+            meterRegistry.timer("game.duration")
+                    .record(Duration.between(game.getCreatedAt(), LocalDateTime.now()));
+        }
     }
 
     String generateCharacter(ScenarioTemplate template) {
@@ -263,14 +347,16 @@ public class GameService {
         return passwords.get(randomIndex);
     }
 
+    // The id list comes from the query cache and the template from the entity cache, so once both are warm
+    // picking one makes no database round trip
     ScenarioTemplate generateTemplate() {
-        long count = scenarioTemplateRepo.count();
-        if (count == 0) {
+        List<String> templateIds = scenarioTemplateRepo.findAllIds();
+        if (templateIds.isEmpty()) {
             throw new RuntimeException("No templates available");
         }
 
-        int randomIndex = random.nextInt((int) count);
-        return scenarioTemplateRepo.findRandomTemplate(randomIndex)
+        String templateId = templateIds.get(random.nextInt(templateIds.size()));
+        return scenarioTemplateRepo.findById(templateId)
                 .orElseThrow(() -> new RuntimeException("No template found"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,159 @@
+package com.backend.promptvprompt.services;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps game_turns range-partitioned by created_at month. Hibernate creates a
+ * plain table on first start; this converts it once, then keeps partitions
+ * created months ahead so inserts never miss one, and drops whole months past
+ * game.turn-partitions.retention-months. Each partition has its own small
+ * indexes, so insert cost does not grow with history.
+ */
+@Service
+// Runs after Hibernate's schema update has created or checked game_turns
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class GameTurnPartitionService {
+    private static final Logger logger = LoggerFactory.getLogger(GameTurnPartitionService.class);
+
+    private static final String TABLE = "game_turns";
+    private static final String LEGACY_TABLE = "game_turns_legacy";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("game_turns_p(\\d{4})_(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${game.turn-partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    // 0 keeps every month; with archival on, keep this longer than game.archive.after-days
+    @Value("${game.turn-partitions.retention-months:0}")
+    private int retentionMonths;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.executeWithoutResult(status -> {
+            lockMaintenance();
+            // 'r' for a plain table, 'p' once partitioned
+            List<String> relkind = jdbcTemplate.queryForList(
+                    "SELECT relkind::text FROM pg_class WHERE oid = to_regclass(?)", String.class, TABLE);
+            if (relkind.equals(List.of("r"))) {
+                convertToPartitioned();
+            }
+            createPartitions(YearMonth.now(), YearMonth.now().plusMonths(monthsAhead));
+            // Partitioned index: created on every partition, including ones added later
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_game_turns_game_player_phase "
+                    + "ON game_turns (game_id, player_id, phase, turn_number)");
+        });
+    }
+
+    @Scheduled(cron = "${game.turn-partitions.cron:0 15 3 * * *}")
+    public void maintainPartitions() {
+        transactionTemplate.executeWithoutResult(status -> {
+            lockMaintenance();
+            YearMonth now = YearMonth.now();
+            createPartitions(now, now.plusMonths(monthsAhead));
+            if (retentionMonths > 0) {
+                dropPartitionsBefore(now.minusMonths(retentionMonths));
+            }
+        });
+    }
+
+    // Several nodes start and run the schedule at once; DDL on the parent must not interleave
+    private void lockMaintenance() {
+        jdbcTemplate.execute("SELECT pg_advisory_xact_lock(hashtext('game_turns_partitions'))");
+    }
+
+    // One-off: rebuild the plain table as a partitioned one with the same columns, checks and foreign keys.
+    // The primary key has to include the partition column, so it becomes (id, created_at)
+    private void convertToPartitioned() {
+        String primaryKey = jdbcTemplate.queryForObject(
+                "SELECT conname FROM pg_constraint WHERE conrelid = 'game_turns'::regclass AND contype = 'p'",
+                String.class);
+        List<Map<String, Object>> foreignKeys = jdbcTemplate.queryForList(
+                "SELECT conname, pg_get_constraintdef(oid) AS definition FROM pg_constraint "
+                        + "WHERE conrelid = 'game_turns'::regclass AND contype = 'f'");
+
+        jdbcTemplate.execute("ALTER TABLE game_turns RENAME TO " + LEGACY_TABLE);
+        // Index names are schema-wide, so the old key gives its name up to the new one
+        jdbcTemplate.execute("ALTER TABLE " + LEGACY_TABLE + " RENAME CONSTRAINT " + quote(primaryKey)
+                + " TO " + LEGACY_TABLE + "_pkey");
+        jdbcTemplate.execute("CREATE TABLE game_turns (LIKE " + LEGACY_TABLE
+                + " INCLUDING DEFAULTS INCLUDING CONSTRAINTS) PARTITION BY RANGE (created_at)");
+        jdbcTemplate.execute("ALTER TABLE game_turns ADD CONSTRAINT " + quote(primaryKey)
+                + " PRIMARY KEY (id, created_at)");
+        // Same names as Hibernate generated, so its schema update still finds them
+        for (Map<String, Object> foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE game_turns ADD CONSTRAINT " + quote((String) foreignKey.get("conname"))
+                    + " " + foreignKey.get("definition"));
+        }
+
+        LocalDateTime oldest = jdbcTemplate.queryForObject(
+                "SELECT min(created_at) FROM " + LEGACY_TABLE, LocalDateTime.class);
+        YearMonth first = oldest == null ? YearMonth.now() : YearMonth.from(oldest);
+        createPartitions(first, YearMonth.now().plusMonths(monthsAhead));
+
+        int moved = jdbcTemplate.update("INSERT INTO game_turns SELECT * FROM " + LEGACY_TABLE);
+        jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+        logger.info("Partitioned game_turns by month, moved {} turns", moved);
+    }
+
+    private void createPartitions(YearMonth first, YearMonth last) {
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + partitionName(month)
+                    + " PARTITION OF game_turns FOR VALUES FROM ('" + month.atDay(1)
+                    + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+    }
+
+    // Dropping a month is a catalog change, not a DELETE: no row-by-row work, no bloat left behind
+    void dropPartitionsBefore(YearMonth cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid "
+                        + "WHERE i.inhparent = 'game_turns'::regclass",
+                String.class);
+
+        for (String partition : partitions) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (month.isBefore(cutoff)) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                logger.info("Dropped game_turns partition {} past the {} month retention", partition, retentionMonths);
+            }
+        }
+    }
+
+    private static String partitionName(YearMonth month) {
+        return TABLE + "_p" + month.format(PARTITION_SUFFIX);
+    }
+
+    private static String quote(String identifier) {
+        return "\"" + identifier.replace("\"", "\"\"") + "\"";
+    }
+}
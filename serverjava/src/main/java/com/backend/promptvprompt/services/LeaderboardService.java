@@ -0,0 +1,98 @@
+package com.backend.promptvprompt.services;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.backend.promptvprompt.DTO.Leaderboard.LeaderboardEntry;
+import com.backend.promptvprompt.DTO.Leaderboard.LeaderboardPage;
+import com.backend.promptvprompt.DTO.Leaderboard.PlayerStanding;
+import com.backend.promptvprompt.events.GameCompletedEvent;
+import com.backend.promptvprompt.repos.UserProfileRepo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Leaderboard served from memory. The index is loaded from user_profiles at
+ * startup, patched with the two players of every completed game, and rebuilt
+ * periodically to pick up results recorded by other nodes. Rank lookups and
+ * pages never sort user_profiles in the database.
+ */
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    private final UserProfileRepo userProfileRepo;
+    private final MeterRegistry meterRegistry;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private RankedIndex index = new RankedIndex();
+
+    public LeaderboardPage page(int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            return new LeaderboardPage(offset, limit, index.size(), index.page(offset, limit));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<LeaderboardEntry> entry(String userId) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(index.entry(userId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // An update applied while a rebuild is reading may be lost from the swapped-in index until the next rebuild
+    @Scheduled(initialDelayString = "${leaderboard.rebuild-interval-ms:600000}",
+            fixedDelayString = "${leaderboard.rebuild-interval-ms:600000}")
+    public void rebuild() {
+        long start = System.nanoTime();
+        RankedIndex rebuilt = new RankedIndex();
+        userProfileRepo.findAllStandings().forEach(rebuilt::upsert);
+
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        meterRegistry.timer("leaderboard.rebuild").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        logger.info("Leaderboard rebuilt with {} players", rebuilt.size());
+    }
+
+    // Runs after the stats update has committed, or straight away when the game completed outside a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGameCompleted(GameCompletedEvent event) {
+        List<PlayerStanding> standings = userProfileRepo
+                .findStandingsByUserIds(List.of(event.getPlayerOneId(), event.getPlayerTwoId()));
+
+        lock.writeLock().lock();
+        try {
+            standings.forEach(index::upsert);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.backend.promptvprompt.services;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.StringJoiner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import com.backend.promptvprompt.DTO.Stub.StubChatRequest;
+import com.backend.promptvprompt.config.LlmStubProperties;
+import com.backend.promptvprompt.config.LlmStubProperties.Latency;
+
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Decides how the local stub completion server answers each request: how long
+ * it waits, whether it fails, and what it says. Latency and errors follow the
+ * request sequence and the reply text follows the prompt, both derived from
+ * the configured seed, so a load test replays the same way every run.
+ */
+@Service
+@Profile("llm-stub")
+@RequiredArgsConstructor
+public class LlmStubService {
+    private static final String[] WORDS = {
+            "the", "secret", "is", "safe", "with", "me", "you", "will", "not", "get", "it",
+            "perhaps", "try", "again", "I", "am", "guarding", "something", "important", "that",
+            "cannot", "be", "shared", "clever", "attempt", "but", "no", "a", "password", "hidden"
+    };
+
+    private final LlmStubProperties properties;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong cannedIndex = new AtomicLong();
+
+    // Delays are scheduled instead of slept so slow replies do not pin request threads
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2,
+            Thread.ofPlatform().name("llm-stub-", 0).daemon().factory());
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    public StubOutcome next(StubChatRequest request) {
+        SplittableRandom random = new SplittableRandom(mix(properties.getSeed(), sequence.incrementAndGet()));
+
+        long latencyMs = sampleLatency(properties.getLatency(), random);
+        Integer errorStatus = null;
+        if (random.nextDouble() < properties.getErrorRate() && !properties.getErrorStatuses().isEmpty()) {
+            List<Integer> statuses = properties.getErrorStatuses();
+            errorStatus = statuses.get(random.nextInt(statuses.size()));
+        }
+
+        String reply = reply(request);
+        return new StubOutcome(latencyMs, errorStatus, reply, estimatePromptTokens(request),
+                reply.split(" ").length);
+    }
+
+    public void schedule(Runnable task, long delayMs) {
+        scheduler.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    public long interTokenMs() {
+        return properties.getLatency().getInterTokenMs();
+    }
+
+    public int retryAfterSeconds() {
+        return properties.getRetryAfterSeconds();
+    }
+
+    String reply(StubChatRequest request) {
+        Integer maxTokens = request.getMaxTokens();
+        if (maxTokens != null && maxTokens <= properties.getJudgeMaxTokens()) {
+            return properties.getJudgeVerdict();
+        }
+
+        if (properties.getReplyMode() == LlmStubProperties.ReplyMode.CANNED && !properties.getCannedReplies().isEmpty()) {
+            List<String> replies = properties.getCannedReplies();
+            return replies.get((int) (cannedIndex.getAndIncrement() % replies.size()));
+        }
+
+        // Same prompt, same reply, regardless of how requests interleave
+        SplittableRandom random = new SplittableRandom(mix(properties.getSeed(), promptHash(request)));
+        int words = maxTokens == null ? properties.getReplyWords() : Math.min(properties.getReplyWords(), maxTokens);
+        StringJoiner reply = new StringJoiner(" ");
+        for (int i = 0; i < Math.max(1, words); i++) {
+            reply.add(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return reply.toString();
+    }
+
+    static long sampleLatency(Latency latency, SplittableRandom random) {
+        long sampled = switch (latency.getDistribution()) {
+            case FIXED -> latency.getMedianMs();
+            case UNIFORM -> latency.getMinMs() + random.nextLong(Math.max(1, latency.getMaxMs() - latency.getMinMs() + 1));
+            case LOG_NORMAL -> Math.round(latency.getMedianMs() * Math.exp(latency.getSigma() * random.nextGaussian()));
+        };
+        if (latency.getDistribution() == LlmStubProperties.Distribution.FIXED) {
+            return sampled;
+        }
+        return Math.clamp(sampled, latency.getMinMs(), latency.getMaxMs());
+    }
+
+    private static long promptHash(StubChatRequest request) {
+        long hash = 1125899906842597L;
+        if (request.getMessages() != null) {
+            for (StubChatRequest.StubMessage message : request.getMessages()) {
+                hash = 31 * hash + String.valueOf(message.getRole()).hashCode();
+                hash = 31 * hash + String.valueOf(message.getContent()).hashCode();
+            }
+        }
+        return hash;
+    }
+
+    private static int estimatePromptTokens(StubChatRequest request) {
+        if (request.getMessages() == null) {
+            return 0;
+        }
+        int chars = request.getMessages().stream()
+                .mapToInt(m -> m.getContent() == null ? 0 : m.getContent().length())
+                .sum();
+        return Math.max(1, chars / 4);
+    }
+
+    // SplitMix64 finalizer so neighbouring sequence numbers give unrelated streams
+    private static long mix(long seed, long value) {
+        long z = seed + value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static final class StubOutcome {
+        private final long latencyMs;
+        // Null when the request should succeed
+        private final Integer errorStatus;
+        private final String reply;
+        private final int promptTokens;
+        private final int completionTokens;
+
+        public boolean isError() {
+            return errorStatus != null;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.backend.promptvprompt.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+
+import com.backend.promptvprompt.DTO.Game.GameReplay;
+import com.backend.promptvprompt.DTO.Game.MatchHistoryEntry;
+import com.backend.promptvprompt.DTO.Game.MatchHistoryPage;
+import com.backend.promptvprompt.DTO.Game.MatchHistoryRow;
+import com.backend.promptvprompt.exceptions.InvalidCursorException;
+import com.backend.promptvprompt.repos.GameRepo;
+
+import lombok.RequiredArgsConstructor;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * A player's completed games, newest first, paged by an opaque (createdAt, id)
+ * cursor rather than an offset so every page is an index seek.
+ */
+@Service
+@RequiredArgsConstructor
+public class MatchHistoryService {
+    // First page: a cursor after every real game
+    private static final LocalDateTime FIRST_PAGE_CREATED_AT = LocalDateTime.of(9999, 12, 31, 0, 0);
+    private static final String FIRST_PAGE_ID = "";
+    private static final String CURSOR_SEPARATOR = "|";
+
+    private final GameRepo gameRepo;
+    private final ReplayExportService replayExportService;
+    private final ObjectMapper objectMapper;
+
+    public MatchHistoryPage history(String userId, String cursor, int limit) {
+        LocalDateTime beforeCreatedAt = FIRST_PAGE_CREATED_AT;
+        String beforeId = FIRST_PAGE_ID;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decode(cursor);
+            beforeCreatedAt = parseCreatedAt(parts[0]);
+            beforeId = parts[1];
+        }
+
+        // One extra id tells us whether another page exists without a count query
+        List<String> ids = gameRepo.findMatchHistoryIds(userId, beforeCreatedAt, beforeId, limit + 1);
+        boolean hasMore = ids.size() > limit;
+        if (hasMore) {
+            ids = ids.subList(0, limit);
+        }
+        if (ids.isEmpty()) {
+            return new MatchHistoryPage(List.of(), null);
+        }
+
+        List<MatchHistoryEntry> entries = gameRepo.findMatchHistoryRows(ids).stream()
+                .map(row -> toEntry(row, userId))
+                .toList();
+        MatchHistoryEntry last = entries.get(entries.size() - 1);
+        return new MatchHistoryPage(entries, hasMore ? encode(last.getCreatedAt(), last.getGameId()) : null);
+    }
+
+    // Full replay for one of the player's completed games, rehydrated from the archive when it has been archived
+    public Optional<GameReplay> replay(String userId, String gameId) {
+        return replayExportService.renderGame(gameId)
+                .map(json -> objectMapper.readValue(json, GameReplay.class))
+                .filter(replay -> replay.isPlayer(userId));
+    }
+
+    private static MatchHistoryEntry toEntry(MatchHistoryRow row, String userId) {
+        boolean isPlayerOne = userId.equals(row.getPlayerOneId());
+        MatchHistoryEntry.Result result;
+        if (row.getWinnerId() == null) {
+            result = MatchHistoryEntry.Result.DRAW;
+        } else {
+            result = userId.equals(row.getWinnerId()) ? MatchHistoryEntry.Result.WIN : MatchHistoryEntry.Result.LOSS;
+        }
+
+        return new MatchHistoryEntry(
+                row.getGameId(),
+                row.getCreatedAt(),
+                row.getCompletedAt(),
+                row.getScenarioName(),
+                isPlayerOne ? row.getPlayerTwoId() : row.getPlayerOneId(),
+                isPlayerOne ? row.getPlayerTwoDisplayName() : row.getPlayerOneDisplayName(),
+                result,
+                row.getEndReason());
+    }
+
+    private static String encode(LocalDateTime createdAt, String gameId) {
+        String raw = createdAt + CURSOR_SEPARATOR + gameId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + CURSOR_SEPARATOR, 2);
+            if (parts.length != 2) {
+                throw new InvalidCursorException("Invalid match history cursor");
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid match history cursor");
+        }
+    }
+
+    private static LocalDateTime parseCreatedAt(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid match history cursor");
+        }
+    }
+}
@@ -2,16 +2,34 @@ package com.backend.promptvprompt.services;
 
 import java.time.Instant;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 
 import org.springframework.stereotype.Service;
 
 import com.backend.promptvprompt.DTO.Matchmaking.Match;
 import com.backend.promptvprompt.DTO.Matchmaking.PlayerQueue;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+
 @Service
+@RequiredArgsConstructor
 public class MatchmakingService {
+    private final MeterRegistry meterRegistry;
     private final ConcurrentLinkedQueue<PlayerQueue> queue = new ConcurrentLinkedQueue<>();
 
+    private Timer waitTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        waitTimer = Timer.builder("matchmaking.wait")
+                .description("Time from joining the queue to being matched")
+                .register(meterRegistry);
+        meterRegistry.gauge("matchmaking.queue.depth", queue, ConcurrentLinkedQueue::size);
+    }
+
     public Match addPlayer(String playerId, String socketId) {
         queue.add(new PlayerQueue(playerId, socketId, Instant.now().toEpochMilli()));
         return tryMatch();
@@ -24,6 +42,9 @@ public class MatchmakingService {
             PlayerQueue playerTwo = queue.poll();
 
             if (playerOne != null && playerTwo != null) {
+                long now = Instant.now().toEpochMilli();
+                waitTimer.record(now - playerOne.getJoinedAt(), TimeUnit.MILLISECONDS);
+                waitTimer.record(now - playerTwo.getJoinedAt(), TimeUnit.MILLISECONDS);
                 return new Match(playerOne, playerTwo);
             }
         }
@@ -0,0 +1,194 @@
+package com.backend.promptvprompt.services;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import com.backend.promptvprompt.DTO.Leaderboard.LeaderboardEntry;
+import com.backend.promptvprompt.DTO.Leaderboard.PlayerStanding;
+
+/**
+ * Order-statistic index over player points. A Fenwick tree counts players per
+ * score, which answers "how many players are above this score" in
+ * O(log maxScore) for competition ranks. A treap keyed on the full leaderboard
+ * order keeps subtree sizes, so a page finds its first player in O(log n) even
+ * deep inside a block of tied players. Not thread-safe;
+ * {@link LeaderboardService} guards it.
+ */
+class RankedIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    // Points descending, then user id so every player has a distinct position
+    private static final Comparator<PlayerStanding> ORDER = Comparator
+            .comparingInt(PlayerStanding::getPoints).reversed()
+            .thenComparing(PlayerStanding::getUserId);
+
+    private final Map<String, PlayerStanding> byUserId = new HashMap<>();
+    private final Random priorities = new Random();
+    private Node root;
+    // tree[score + 1] in Fenwick layout, covering scores 0..capacity-1
+    private int[] tree = new int[INITIAL_CAPACITY + 1];
+
+    int size() {
+        return byUserId.size();
+    }
+
+    void upsert(PlayerStanding standing) {
+        ensureCapacity(standing.getPoints());
+        PlayerStanding previous = byUserId.put(standing.getUserId(), standing);
+        if (previous != null) {
+            root = remove(root, previous);
+            add(previous.getPoints(), -1);
+        }
+        Node[] parts = split(root, standing);
+        root = merge(merge(parts[0], new Node(standing, priorities.nextInt())), parts[1]);
+        add(standing.getPoints(), 1);
+    }
+
+    LeaderboardEntry entry(String userId) {
+        PlayerStanding standing = byUserId.get(userId);
+        return standing == null ? null : toEntry(standing);
+    }
+
+    List<LeaderboardEntry> page(int offset, int limit) {
+        if (offset >= size() || limit <= 0) {
+            return List.of();
+        }
+        int end = (int) Math.min((long) offset + limit, size());
+        List<LeaderboardEntry> entries = new ArrayList<>(end - offset);
+        collect(root, offset, end, entries);
+        return entries;
+    }
+
+    // Appends the players at positions [from, to) of this subtree, descending only into subtrees that overlap
+    private void collect(Node node, int from, int to, List<LeaderboardEntry> entries) {
+        if (node == null || from >= to) {
+            return;
+        }
+        int leftSize = size(node.left);
+        if (from < leftSize) {
+            collect(node.left, from, Math.min(to, leftSize), entries);
+        }
+        if (from <= leftSize && leftSize < to) {
+            entries.add(toEntry(node.standing));
+        }
+        if (to > leftSize + 1) {
+            collect(node.right, Math.max(from - leftSize - 1, 0), to - leftSize - 1, entries);
+        }
+    }
+
+    private LeaderboardEntry toEntry(PlayerStanding standing) {
+        return new LeaderboardEntry(
+                countAbove(standing.getPoints()) + 1,
+                standing.getUserId(),
+                standing.getDisplayName(),
+                standing.getPoints(),
+                standing.getWins(),
+                standing.getLosses(),
+                standing.getDraws());
+    }
+
+    private int countAbove(int score) {
+        return size() - countAtMost(score);
+    }
+
+    private int countAtMost(int score) {
+        int count = 0;
+        for (int i = Math.min(score + 1, tree.length - 1); i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    private void add(int score, int delta) {
+        for (int i = score + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private void ensureCapacity(int score) {
+        if (score + 1 < tree.length) {
+            return;
+        }
+        int capacity = tree.length - 1;
+        while (capacity <= score) {
+            capacity <<= 1;
+        }
+        tree = new int[capacity + 1];
+        for (PlayerStanding standing : byUserId.values()) {
+            add(standing.getPoints(), 1);
+        }
+    }
+
+    // Splits into the players ordered before key and the rest
+    private static Node[] split(Node node, PlayerStanding key) {
+        if (node == null) {
+            return new Node[2];
+        }
+        if (ORDER.compare(node.standing, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            return new Node[] { node.resize(), parts[1] };
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        return new Node[] { parts[0], node.resize() };
+    }
+
+    // Every player in first is ordered before every player in second
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            return first.resize();
+        }
+        second.left = merge(first, second.left);
+        return second.resize();
+    }
+
+    private static Node remove(Node node, PlayerStanding standing) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = ORDER.compare(standing, node.standing);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = remove(node.left, standing);
+        } else {
+            node.right = remove(node.right, standing);
+        }
+        return node.resize();
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static final class Node {
+        private final PlayerStanding standing;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(PlayerStanding standing, int priority) {
+            this.standing = standing;
+            this.priority = priority;
+        }
+
+        private Node resize() {
+            size = 1 + RankedIndex.size(left) + RankedIndex.size(right);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.backend.promptvprompt.services;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.AntPathMatcher;
+
+import com.backend.promptvprompt.config.RateLimitProperties;
+import com.backend.promptvprompt.config.RateLimitProperties.Limit;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Lock-free per-key limiter using the generic cell rate algorithm: each key
+ * stores only its theoretical arrival time in an AtomicLong and a request is
+ * admitted with a single CAS. Behaves like a sliding window of
+ * {@code requests} per {@code window} with bursts up to {@code requests}.
+ */
+@Service
+@RequiredArgsConstructor
+public class RateLimiterService {
+    private final RateLimitProperties properties;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public boolean tryAcquire(String key, Limit limit) {
+        return tryAcquire(key, limit, System.nanoTime());
+    }
+
+    boolean tryAcquire(String key, Limit limit, long now) {
+        long window = limit.getWindow().toNanos();
+        long interval = window / Math.max(1, limit.getRequests());
+        long tolerance = window - interval;
+
+        AtomicLong arrival = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        while (true) {
+            long current = arrival.get();
+            long base = Math.max(current, now);
+            if (base - now > tolerance) {
+                return false;
+            }
+            if (arrival.compareAndSet(current, base + interval)) {
+                return true;
+            }
+        }
+    }
+
+    // Most specific configured pattern wins, e.g. /app/game/*/submit-turn over /app/**
+    public Optional<Map.Entry<String, Limit>> findLimit(Map<String, Limit> limits, String path) {
+        if (path == null) {
+            return Optional.empty();
+        }
+        Comparator<String> specificity = pathMatcher.getPatternComparator(path);
+        return limits.entrySet().stream()
+                .filter(entry -> pathMatcher.match(entry.getKey(), path))
+                .min((a, b) -> specificity.compare(a.getKey(), b.getKey()));
+    }
+
+    // Keys whose arrival time has passed are back to a full allowance and can be dropped
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleKeys() {
+        long now = System.nanoTime();
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() <= now);
+    }
+
+    int trackedKeys() {
+        return buckets.size();
+    }
+}
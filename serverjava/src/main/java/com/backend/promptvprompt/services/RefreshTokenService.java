@@ -2,7 +2,10 @@ package com.backend.promptvprompt.services;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
@@ -14,6 +17,10 @@ import com.backend.promptvprompt.models.User;
 import com.backend.promptvprompt.repos.RefreshTokenRepo;
 import com.backend.promptvprompt.repos.UserRepo;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -21,17 +28,39 @@ import lombok.RequiredArgsConstructor;
 public class RefreshTokenService {
     private final RefreshTokenRepo refreshTokenRepo;
     private final UserRepo userRepo;
+    private final MeterRegistry meterRegistry;
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
 
     @Value("${jwt.refresh-token-expiration}")
     private long refreshTokenExpiration; // 7 days in milliseconds
 
+    @Value("${refresh-token.cleanup.batch-size:500}")
+    private int cleanupBatchSize;
+
+    @Value("${refresh-token.cleanup.max-batches-per-run:200}")
+    private int cleanupMaxBatchesPerRun;
+
+    @Value("${refresh-token.cleanup.pause-ms:50}")
+    private long cleanupPauseMs;
+
+    private final AtomicInteger lastRunDeleted = new AtomicInteger();
+    private Counter deletedCounter;
+    private Timer runTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        deletedCounter = meterRegistry.counter("refresh_tokens.cleanup.deleted");
+        runTimer = meterRegistry.timer("refresh_tokens.cleanup.run");
+        meterRegistry.gauge("refresh_tokens.cleanup.last_run.deleted", lastRunDeleted);
+    }
+
     @Transactional
     public RefreshToken createRefreshToken(String userId) {
         // Optional: Delete old refresh tokens for this user
         refreshTokenRepo.deleteByUserId(userId);
 
-        User user = userRepo.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        // Only the foreign key is needed, so avoid loading the user row
+        User user = userRepo.getReferenceById(userId);
 
         RefreshToken refreshToken = RefreshToken.builder()
                 .token(UUID.randomUUID().toString())
@@ -73,9 +102,41 @@ public class RefreshTokenService {
         refreshTokenRepo.deleteByUserId(userId);
     }
 
-    @Scheduled(cron = "0 0 2 * * ?") // Run daily at 2 AM
-    @Transactional
+    // Runs continuously in small batches instead of one nightly DELETE, so each
+    // transaction stays short and the table never builds up a large backlog
+    @Scheduled(fixedDelayString = "${refresh-token.cleanup.interval-ms:60000}")
     public void cleanupExpiredTokens() {
-        refreshTokenRepo.deleteExpiredTokens(LocalDateTime.now());
+        runTimer.record(() -> {
+            LocalDateTime cutoff = LocalDateTime.now();
+            int runDeleted = 0;
+
+            for (int batch = 0; batch < cleanupMaxBatchesPerRun; batch++) {
+                int deleted = refreshTokenRepo.deleteExpiredTokensBatch(cutoff, cleanupBatchSize);
+                runDeleted += deleted;
+                deletedCounter.increment(deleted);
+
+                if (deleted < cleanupBatchSize || !pauseBetweenBatches()) {
+                    break;
+                }
+            }
+
+            lastRunDeleted.set(runDeleted);
+            if (runDeleted > 0) {
+                logger.info("Deleted {} expired refresh tokens", runDeleted);
+            }
+        });
+    }
+
+    private boolean pauseBetweenBatches() {
+        if (cleanupPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(cleanupPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 }
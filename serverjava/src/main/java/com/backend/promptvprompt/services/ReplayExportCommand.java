@@ -0,0 +1,63 @@
+package com.backend.promptvprompt.services;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Batch form of the replay export. Runs when replay-export.output is set, then
+ * shuts the application down, e.g.
+ * {@code java -jar app.jar --spring.main.web-application-type=none --replay-export.output=replays.ndjson.gz}.
+ * A path ending in .gz is gzipped; replay-export.from and replay-export.to
+ * optionally bound the games' creation time.
+ */
+@Component
+@ConditionalOnProperty(name = "replay-export.output")
+@RequiredArgsConstructor
+public class ReplayExportCommand implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ReplayExportCommand.class);
+
+    private final ReplayExportService replayExportService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${replay-export.output}")
+    private Path output;
+
+    // ISO-8601 local date-times, e.g. 2026-01-01T00:00
+    @Value("${replay-export.from:}")
+    private String from;
+
+    @Value("${replay-export.to:}")
+    private String to;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        long games;
+        try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(output), 64 * 1024);
+                OutputStream out = output.toString().endsWith(".gz") ? new GZIPOutputStream(file, 64 * 1024) : file) {
+            games = replayExportService.export(parse(from), parse(to), out);
+        }
+        logger.info("Exported {} games to {}", games, output.toAbsolutePath());
+
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    private static LocalDateTime parse(String value) {
+        return value.isBlank() ? null : LocalDateTime.parse(value);
+    }
+}
@@ -0,0 +1,242 @@
+package com.backend.promptvprompt.services;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+/**
+ * Streams completed games with their turns as NDJSON, one game per line.
+ * Rows come from a single forward-only cursor ordered by game, and each row is
+ * written to the generator as soon as it is read, so memory use does not grow
+ * with the size of the export. Archived games are copied from the line stored
+ * when they were archived, so the output is the same either way.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReplayExportService {
+    // Turns follow their game; a game without turns still gets a line with an empty turns array.
+    // An archived game has no turns left, only its stored line in game_archives. The created_at bound
+    // prunes game_turns partitions older than the game (see GameTurnRepo)
+    private static final String SELECT_REPLAY = """
+            SELECT g.id, g.created_at, g.updated_at, g.template_id, g.player_one_id, g.player_two_id,
+                   g.winner_id, g.end_reason, g.generated_character, g.generated_secret,
+                   g.player_one_ai_hp, g.player_two_ai_hp,
+                   t.id AS turn_id, t.player_id, t.phase, t.turn_number, t.player_message, t.ai_response,
+                   t.prompt_tokens, t.completion_tokens, t.created_at AS turn_created_at,
+                   a.payload AS archived_payload
+            FROM games g
+            LEFT JOIN game_turns t ON t.game_id = g.id AND t.created_at >= g.created_at - interval '1 day'
+            LEFT JOIN game_archives a ON a.game_id = g.id
+            """;
+
+    private static final String EXPORT_SQL = SELECT_REPLAY + """
+            WHERE g.status = 'COMPLETED' AND g.created_at >= ? AND g.created_at < ?
+            ORDER BY g.created_at, g.id, t.created_at, t.id
+            """;
+
+    private static final String GAME_SQL = SELECT_REPLAY + """
+            WHERE g.id = ? AND g.status = 'COMPLETED'
+            ORDER BY t.created_at, t.id
+            """;
+
+    // Open-ended bounds when the caller does not restrict the range
+    private static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final DataSource dataSource;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    // Rows pulled per round trip; the driver holds at most this many rows at a time
+    @Value("${replay-export.fetch-size:500}")
+    private int fetchSize;
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private ObjectWriter ndjsonWriter;
+
+    @PostConstruct
+    void init() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+
+        // PostgreSQL only streams with a fetch size inside a transaction; without one it buffers the whole result
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        // The caller owns the stream, e.g. to finish a gzip trailer after the last line
+        ndjsonWriter = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .without(StreamWriteFeature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Writes every completed game created in [from, to) to out. Either bound may
+     * be null. Returns the number of games written; out is left open.
+     */
+    public long export(LocalDateTime from, LocalDateTime to, OutputStream out) {
+        LocalDateTime start = from != null ? from : EARLIEST;
+        LocalDateTime end = to != null ? to : LATEST;
+
+        Long games = transactionTemplate.execute(status -> {
+            try (JsonGenerator generator = ndjsonWriter.createGenerator(out)) {
+                ReplayWriter writer = new ReplayWriter(generator);
+                jdbcTemplate.query(EXPORT_SQL, writer, start, end);
+                writer.finish();
+                if (writer.games > 0) {
+                    generator.writeRaw('\n');
+                }
+                return writer.games;
+            }
+        });
+
+        meterRegistry.counter("replay.export.games").increment(games);
+        return games;
+    }
+
+    /**
+     * One completed game as the JSON object its export line holds, whether its
+     * turns are live or archived. Empty when the game does not exist or has not
+     * completed. Joins the caller's transaction when there is one.
+     */
+    public Optional<byte[]> renderGame(String gameId) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long games;
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            ReplayWriter writer = new ReplayWriter(generator);
+            jdbcTemplate.query(GAME_SQL, writer, gameId);
+            writer.finish();
+            games = writer.games;
+        }
+        return games == 0 ? Optional.empty() : Optional.of(out.toByteArray());
+    }
+
+    private final class ReplayWriter implements RowCallbackHandler {
+        private final JsonGenerator generator;
+        private String currentGameId;
+        // Whether the current game's turns array is still open
+        private boolean open;
+        private long games;
+
+        private ReplayWriter(JsonGenerator generator) {
+            this.generator = generator;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            String gameId = rs.getString("id");
+            if (!gameId.equals(currentGameId)) {
+                finish();
+                currentGameId = gameId;
+                games++;
+
+                InputStream archived = rs.getBinaryStream("archived_payload");
+                if (archived != null) {
+                    copyArchived(archived);
+                    return;
+                }
+                startGame(rs);
+                open = true;
+            }
+            if (open && rs.getString("turn_id") != null) {
+                writeTurn(rs);
+            }
+        }
+
+        // Closes the game that is still open, if any
+        private void finish() {
+            if (open) {
+                generator.writeEndArray();
+                generator.writeEndObject();
+                open = false;
+            }
+        }
+
+        // The stored line is copied token by token, never inflated into a string
+        private void copyArchived(InputStream archived) {
+            try (JsonParser parser = objectMapper.createParser(new GZIPInputStream(archived))) {
+                parser.nextToken();
+                generator.copyCurrentStructure(parser);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unreadable archive for game " + currentGameId, e);
+            }
+        }
+
+        private void startGame(ResultSet rs) throws SQLException {
+            generator.writeStartObject();
+            writeString("gameId", rs.getString("id"));
+            writeTimestamp("createdAt", rs, "created_at");
+            writeTimestamp("completedAt", rs, "updated_at");
+            writeString("templateId", rs.getString("template_id"));
+            writeString("playerOneId", rs.getString("player_one_id"));
+            writeString("playerTwoId", rs.getString("player_two_id"));
+            writeString("winnerId", rs.getString("winner_id"));
+            writeString("endReason", rs.getString("end_reason"));
+            writeString("character", rs.getString("generated_character"));
+            writeString("secret", rs.getString("generated_secret"));
+            writeInteger("playerOneAiHp", rs.getObject("player_one_ai_hp", Integer.class));
+            writeInteger("playerTwoAiHp", rs.getObject("player_two_ai_hp", Integer.class));
+            generator.writeName("turns");
+            generator.writeStartArray();
+        }
+
+        private void writeTurn(ResultSet rs) throws SQLException {
+            generator.writeStartObject();
+            writeString("id", rs.getString("turn_id"));
+            writeString("playerId", rs.getString("player_id"));
+            writeString("phase", rs.getString("phase"));
+            writeInteger("turnNumber", rs.getObject("turn_number", Integer.class));
+            writeString("playerMessage", rs.getString("player_message"));
+            writeString("aiResponse", rs.getString("ai_response"));
+            writeInteger("promptTokens", rs.getObject("prompt_tokens", Integer.class));
+            writeInteger("completionTokens", rs.getObject("completion_tokens", Integer.class));
+            writeTimestamp("createdAt", rs, "turn_created_at");
+            generator.writeEndObject();
+        }
+
+        private void writeString(String name, String value) {
+            generator.writeName(name);
+            generator.writeString(value);
+        }
+
+        private void writeInteger(String name, Integer value) {
+            generator.writeName(name);
+            if (value == null) {
+                generator.writeNull();
+            } else {
+                generator.writeNumber(value);
+            }
+        }
+
+        private void writeTimestamp(String name, ResultSet rs, String column) throws SQLException {
+            LocalDateTime value = rs.getObject(column, LocalDateTime.class);
+            writeString(name, value == null ? null : value.toString());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.backend.promptvprompt.services;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.backend.promptvprompt.events.GameCompletedEvent;
+import com.backend.promptvprompt.models.GamePhase;
+import com.backend.promptvprompt.models.GameTurn;
+import com.backend.promptvprompt.services.ConversationContextManager.ContextKey;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Per game, player and phase copy of the turns played so far, so building a
+ * prompt does not re-select and hydrate the whole history on every turn.
+ * Callers pass the turn count they already know from the database; a buffer
+ * that disagrees (restart, another node, rolled-back turn) is reloaded.
+ */
+@Service
+@RequiredArgsConstructor
+public class TranscriptBuffer {
+    private final MeterRegistry meterRegistry;
+
+    @Value("${game.transcript.idle-eviction-ms:3600000}")
+    private long idleEvictionMs;
+
+    private final GameScopedMap<ContextKey, List<GameTurn>> transcripts = new GameScopedMap<>();
+
+    /** Turns oldest first, served from memory when the buffer holds exactly expectedTurns. */
+    public List<GameTurn> history(String gameId, String playerId, GamePhase phase, int expectedTurns,
+            Supplier<List<GameTurn>> loader) {
+        ContextKey key = ConversationContextManager.key(gameId, playerId, phase);
+        List<GameTurn> buffered = transcripts.get(gameId, key);
+        if (buffered != null && buffered.size() == expectedTurns) {
+            meterRegistry.counter("transcript.buffer", "result", "hit").increment();
+            return buffered;
+        }
+
+        meterRegistry.counter("transcript.buffer", "result", "miss").increment();
+        List<GameTurn> turns = copyOf(loader.get());
+        transcripts.put(gameId, key, turns);
+        return turns;
+    }
+
+    // Only extends a buffer that ends right before this turn; anything else is dropped and reloaded later
+    public void append(String gameId, String playerId, GameTurn turn) {
+        ContextKey key = ConversationContextManager.key(gameId, playerId, turn.getPhase());
+        transcripts.computeIfPresent(gameId, key, (k, buffered) -> {
+            if (buffered.size() != turn.getTurnNumber() - 1) {
+                return null;
+            }
+            List<GameTurn> turns = new ArrayList<>(buffered);
+            turns.add(detach(turn));
+            return Collections.unmodifiableList(turns);
+        });
+    }
+
+    @EventListener
+    public void onGameCompleted(GameCompletedEvent event) {
+        transcripts.remove(event.getGameId());
+    }
+
+    @Scheduled(fixedDelayString = "${game.transcript.eviction-interval-ms:300000}")
+    public void evictIdle() {
+        transcripts.evictIdle(idleEvictionMs);
+    }
+
+    private static List<GameTurn> copyOf(List<GameTurn> turns) {
+        return turns.stream().map(TranscriptBuffer::detach).toList();
+    }
+
+    // Keeps only what prompts need, so buffered turns do not pin the game, player or session
+    private static GameTurn detach(GameTurn turn) {
+        return GameTurn.builder()
+                .id(turn.getId())
+                .phase(turn.getPhase())
+                .turnNumber(turn.getTurnNumber())
+                .playerMessage(turn.getPlayerMessage())
+                .aiResponse(turn.getAiResponse())
+                .build();
+    }
+}
@@ -0,0 +1,186 @@
+package com.backend.promptvprompt.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.backend.promptvprompt.exceptions.TurnNotAcknowledgedException;
+import com.backend.promptvprompt.models.GameTurn;
+import com.backend.promptvprompt.repos.GameTurnRepo;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Write-behind journal for game turns. Turns from every game are queued and a
+ * single writer commits them in one transaction per flush window, which
+ * Hibernate sends as JDBC batch inserts. {@link #persist} blocks until the
+ * batch holding the turn has committed, so a player is only answered once
+ * their turn is durable.
+ */
+@Service
+@RequiredArgsConstructor
+public class TurnJournal {
+    private static final Logger logger = LoggerFactory.getLogger(TurnJournal.class);
+
+    private final GameTurnRepo gameTurnRepo;
+    private final MeterRegistry meterRegistry;
+
+    // How long the writer keeps collecting after the first turn arrives
+    @Value("${game.turn-journal.flush-interval-ms:5}")
+    private long flushIntervalMs;
+
+    @Value("${game.turn-journal.max-batch:200}")
+    private int maxBatch;
+
+    @Value("${game.turn-journal.ack-timeout-ms:5000}")
+    private long ackTimeoutMs;
+
+    private final LinkedBlockingQueue<PendingTurn> queue = new LinkedBlockingQueue<>();
+    private volatile boolean running;
+    private Thread writer;
+    private Timer flushTimer;
+    private DistributionSummary batchSize;
+
+    @PostConstruct
+    void start() {
+        flushTimer = meterRegistry.timer("turn.journal.flush");
+        batchSize = DistributionSummary.builder("turn.journal.batch.size").register(meterRegistry);
+        meterRegistry.gauge("turn.journal.queue.depth", queue, LinkedBlockingQueue::size);
+
+        running = true;
+        writer = Thread.ofPlatform().name("turn-journal").daemon().start(this::writeLoop);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.interrupt();
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+
+        // Anything still queued belongs to a caller that is waiting on it
+        List<PendingTurn> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    /**
+     * Queues the turn and blocks until it has been committed. The turn's id and
+     * createdAt are set once this returns. Throws
+     * {@link TurnNotAcknowledgedException} when no commit is confirmed in time.
+     */
+    public void persist(GameTurn turn) {
+        PendingTurn pending = new PendingTurn(turn);
+        queue.add(pending);
+
+        try {
+            pending.committed.get(ackTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RuntimeException(e.getCause());
+        } catch (TimeoutException e) {
+            // Still queued: withdraw it so a late flush cannot commit a turn the player was told failed
+            boolean withdrawn = pending.claim();
+            if (withdrawn) {
+                queue.remove(pending);
+            }
+            throw new TurnNotAcknowledgedException(withdrawn
+                    ? "Turn was not persisted within " + ackTimeoutMs + "ms and was withdrawn"
+                    : "Turn was still being written after " + ackTimeoutMs + "ms", withdrawn);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (pending.claim()) {
+                queue.remove(pending);
+            }
+            throw new RuntimeException("Interrupted while waiting for turn to persist", e);
+        }
+    }
+
+    private void writeLoop() {
+        List<PendingTurn> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                batch.add(queue.take());
+
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < maxBatch) {
+                    PendingTurn next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                    queue.drainTo(batch, maxBatch - batch.size());
+                }
+
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                // Hand whatever was collected back for stop() to flush
+                queue.addAll(batch);
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Turn journal failed to flush", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingTurn> batch) {
+        // Skip turns whose caller already gave up on them
+        batch.removeIf(pending -> !pending.claim());
+        if (batch.isEmpty()) {
+            return;
+        }
+        batchSize.record(batch.size());
+        try {
+            flushTimer.record(() -> gameTurnRepo.saveAll(batch.stream().map(PendingTurn::turn).toList()));
+            batch.forEach(pending -> pending.committed.complete(null));
+        } catch (RuntimeException e) {
+            // One bad turn must not fail everyone it was batched with
+            logger.warn("Batched turn insert failed, retrying {} turns one by one", batch.size(), e);
+            batch.forEach(this::saveAlone);
+        }
+    }
+
+    private void saveAlone(PendingTurn pending) {
+        try {
+            // The failed batch may already have assigned an id; a fresh one keeps save() on the insert path
+            pending.turn.setId(null);
+            gameTurnRepo.save(pending.turn);
+            pending.committed.complete(null);
+        } catch (RuntimeException e) {
+            pending.turn.setId(null);
+            pending.committed.completeExceptionally(e);
+        }
+    }
+
+    // claimed is set once by whichever comes first: the writer flushing the turn, or the caller giving up on it
+    private record PendingTurn(GameTurn turn, CompletableFuture<Void> committed, AtomicBoolean claimed) {
+        private PendingTurn(GameTurn turn) {
+            this(turn, new CompletableFuture<>(), new AtomicBoolean());
+        }
+
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+    }
+}
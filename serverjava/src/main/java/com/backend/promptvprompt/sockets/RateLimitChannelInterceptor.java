@@ -0,0 +1,68 @@
+package com.backend.promptvprompt.sockets;
+
+import java.security.Principal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.stereotype.Component;
+
+import com.backend.promptvprompt.DTO.Game.GameResponse;
+import com.backend.promptvprompt.config.RateLimitProperties;
+import com.backend.promptvprompt.services.RateLimiterService;
+
+@Component
+public class RateLimitChannelInterceptor implements ChannelInterceptor {
+    @Autowired
+    private RateLimiterService rateLimiterService;
+
+    @Autowired
+    private RateLimitProperties rateLimitProperties;
+
+    // Lazy: the messaging template is built from the same broker config this interceptor is registered in
+    @Autowired
+    @Lazy
+    private SimpMessagingTemplate messagingTemplate;
+
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitChannelInterceptor.class);
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+
+        if (accessor == null || !StompCommand.SEND.equals(accessor.getCommand())
+                || !rateLimiterService.isEnabled()) {
+            return message;
+        }
+
+        String destination = accessor.getDestination();
+        Principal user = accessor.getUser();
+        String caller = user != null ? "user:" + user.getName() : "session:" + accessor.getSessionId();
+
+        boolean allowed = rateLimiterService.findLimit(rateLimitProperties.getSocket(), destination)
+                .map(limit -> rateLimiterService.tryAcquire(
+                        "ws:" + limit.getKey() + ":" + caller,
+                        limit.getValue()))
+                .orElse(true);
+
+        if (allowed) {
+            return message;
+        }
+
+        // Returning null drops the frame before it reaches any @MessageMapping
+        logger.debug("Rate limited {} on {}", caller, destination);
+        if (user != null) {
+            messagingTemplate.convertAndSendToUser(user.getName(), "/queue/errors",
+                    new GameResponse("error", "RATE_LIMITED", "Too many requests, slow down", null));
+        }
+        return null;
+    }
+}
@@ -1,5 +1,10 @@
 package com.backend.promptvprompt.sockets;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Component;
@@ -7,31 +12,51 @@ import org.springframework.web.socket.messaging.SessionConnectedEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 import org.springframework.web.socket.messaging.SessionSubscribeEvent;
 
+import com.backend.promptvprompt.config.SamplingFilter;
 import com.backend.promptvprompt.services.GameService;
 import com.backend.promptvprompt.services.MatchmakingService;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 
 @Component
 @RequiredArgsConstructor
 public class WebSocketEventHandler {
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketEventHandler.class);
+
     private final MatchmakingService matchmakingService;
     private final GameService gameService;
+    private final MeterRegistry meterRegistry;
+
+    // STOMP sessions that completed CONNECT; rejected handshakes never get here
+    private final Set<String> connectedSessions = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void registerMetrics() {
+        meterRegistry.gauge("websocket.sessions.active", connectedSessions, Set::size);
+    }
 
     @EventListener
     public void handleWebSocketConnectListener(SessionConnectedEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         String sessionId = headerAccessor.getSessionId();
-        System.out.println("New WebSocket connection: " + sessionId);
+        connectedSessions.add(sessionId);
+        logger.atInfo().addMarker(SamplingFilter.SAMPLED)
+                .addKeyValue("sessionId", sessionId)
+                .log("WebSocket connected");
     }
 
     @EventListener
     public void handleWebSocketDisconnectListener(SessionDisconnectEvent event) {
         StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
         String sessionId = headerAccessor.getSessionId();
+        connectedSessions.remove(sessionId);
         // Cleaning up matchmaking queue later implementation
 
-        System.out.println("WebSocket disconnected: " + sessionId);
+        logger.atInfo().addMarker(SamplingFilter.SAMPLED)
+                .addKeyValue("sessionId", sessionId)
+                .log("WebSocket disconnected");
     }
 
     @EventListener
@@ -40,7 +65,10 @@ public class WebSocketEventHandler {
         String sessionId = headerAccessor.getSessionId();
         String destination = headerAccessor.getDestination();
 
-        System.out.println("Session " + sessionId + " subscribed to " + destination);
+        logger.atDebug().addMarker(SamplingFilter.SAMPLED)
+                .addKeyValue("sessionId", sessionId)
+                .addKeyValue("destination", destination)
+                .log("Session subscribed");
     }
 
 }
@@ -0,0 +1,94 @@
+package com.backend.promptvprompt.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MarkerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SamplingFilter Tests")
+class SamplingFilterTest {
+
+        private SamplingFilter filter;
+        private ListAppender<ILoggingEvent> appender;
+        private Logger logger;
+
+        // The filter sits on a real appender, so events go through the same path as in logback-spring.xml
+        @BeforeEach
+        void setUp() {
+                LoggerContext context = new LoggerContext();
+                filter = new SamplingFilter();
+                filter.setContext(context);
+                filter.setEvery(4);
+                filter.start();
+
+                appender = new ListAppender<>();
+                appender.setContext(context);
+                appender.addFilter(filter);
+                appender.start();
+
+                logger = context.getLogger("game");
+                logger.addAppender(appender);
+        }
+
+        @Test
+        @DisplayName("should keep one in every N events marked through the fluent API")
+        void shouldSampleFluentEvents() {
+                for (int i = 0; i < 100; i++) {
+                        logger.atInfo().addMarker(SamplingFilter.SAMPLED)
+                                        .addKeyValue("gameId", "game-" + i)
+                                        .log("AI response");
+                }
+
+                assertEquals(25, appender.list.size());
+                assertEquals("game-0", appender.list.get(0).getKeyValuePairs().get(0).value);
+        }
+
+        @Test
+        @DisplayName("should keep one in every N events marked through the classic API")
+        void shouldSampleClassicEvents() {
+                for (int i = 0; i < 12; i++) {
+                        logger.info(SamplingFilter.SAMPLED, "Session subscribed {}", i);
+                }
+
+                assertEquals(3, appender.list.size());
+        }
+
+        @Test
+        @DisplayName("should count each message separately")
+        void shouldSamplePerMessage() {
+                logger.atInfo().addMarker(SamplingFilter.SAMPLED).log("AI response");
+                logger.atInfo().addMarker(SamplingFilter.SAMPLED).log("Joining matchmaking queue");
+                logger.atInfo().addMarker(SamplingFilter.SAMPLED).log("AI response");
+
+                assertEquals(2, appender.list.size());
+        }
+
+        @Test
+        @DisplayName("should never drop events without the sampled marker")
+        void shouldPassUnmarkedEvents() {
+                for (int i = 0; i < 10; i++) {
+                        logger.atInfo().log("Game found");
+                        logger.atInfo().addMarker(MarkerFactory.getMarker("OTHER")).log("Game found");
+                }
+
+                assertEquals(20, appender.list.size());
+        }
+
+        @Test
+        @DisplayName("should keep every event when sampling is off")
+        void shouldPassEverythingWhenDisabled() {
+                filter.setEvery(1);
+                for (int i = 0; i < 5; i++) {
+                        logger.atInfo().addMarker(SamplingFilter.SAMPLED).log("AI response");
+                }
+
+                assertEquals(5, appender.list.size());
+        }
+}
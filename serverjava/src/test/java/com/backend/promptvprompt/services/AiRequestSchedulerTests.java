@@ -0,0 +1,185 @@
+package com.backend.promptvprompt.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.backend.promptvprompt.exceptions.AiUnavailableException;
+import com.backend.promptvprompt.models.AiCallType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@DisplayName("AiRequestScheduler Tests")
+class AiRequestSchedulerTest {
+
+        private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+        private SimpleMeterRegistry meterRegistry;
+        private AiRequestScheduler scheduler;
+        private boolean started;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                scheduler = new AiRequestScheduler(meterRegistry);
+                ReflectionTestUtils.setField(scheduler, "requestsPerMinute", 3);
+                ReflectionTestUtils.setField(scheduler, "tokensPerMinute", 1000L);
+                ReflectionTestUtils.setField(scheduler, "maxConcurrency", 1);
+                ReflectionTestUtils.setField(scheduler, "maxQueueDepth", 10);
+                ReflectionTestUtils.setField(scheduler, "maxTurnWaitMs", 5000L);
+                ReflectionTestUtils.setField(scheduler, "maxPhaseWaitMs", 5000L);
+                ReflectionTestUtils.setField(scheduler, "maxHistorySummaryWaitMs", 5000L);
+        }
+
+        @AfterEach
+        void tearDown() {
+                if (started) {
+                        scheduler.stop();
+                }
+        }
+
+        private void startDispatcher() {
+                scheduler.start();
+                started = true;
+        }
+
+        @Test
+        @DisplayName("should hold calls once the requests per minute are used, until the oldest ages out")
+        void shouldEnforceRequestsPerMinute() {
+                long now = 1_000 * SECOND;
+                for (int i = 0; i < 3; i++) {
+                        assertEquals(0, scheduler.nanosUntilDispatchable(10, now + i * SECOND));
+                        scheduler.reserve(10, now + i * SECOND);
+                }
+
+                assertEquals(58 * SECOND, scheduler.nanosUntilDispatchable(10, now + 2 * SECOND));
+                assertEquals(0, scheduler.nanosUntilDispatchable(10, now + 60 * SECOND));
+        }
+
+        @Test
+        @DisplayName("should hold a call whose estimate would overrun the token budget")
+        void shouldEnforceTokensPerMinute() {
+                long now = 1_000 * SECOND;
+                scheduler.reserve(900, now);
+
+                assertEquals(0, scheduler.nanosUntilDispatchable(100, now));
+                assertTrue(scheduler.nanosUntilDispatchable(101, now) > 0);
+        }
+
+        @Test
+        @DisplayName("should admit an oversized call into an empty window")
+        void shouldAdmitOversizedCallIntoEmptyWindow() {
+                assertEquals(0, scheduler.nanosUntilDispatchable(5000, 1_000 * SECOND));
+        }
+
+        @Test
+        @DisplayName("should replace a reservation's estimate with the reported token count")
+        void shouldCorrectReservationToActualTokens() {
+                long now = 1_000 * SECOND;
+                long[] reservation = scheduler.reserve(900, now);
+                assertTrue(scheduler.nanosUntilDispatchable(500, now) > 0);
+
+                scheduler.correct(reservation, 300);
+
+                assertEquals(0, scheduler.nanosUntilDispatchable(500, now));
+                assertTrue(scheduler.nanosUntilDispatchable(701, now) > 0);
+        }
+
+        @Test
+        @DisplayName("should ignore a correction for a reservation that already aged out")
+        void shouldIgnoreCorrectionAfterExpiry() {
+                long now = 1_000 * SECOND;
+                long[] reservation = scheduler.reserve(900, now);
+                scheduler.nanosUntilDispatchable(10, now + 61 * SECOND);
+                scheduler.reserve(100, now + 61 * SECOND);
+
+                scheduler.correct(reservation, 5000);
+
+                assertEquals(0, scheduler.nanosUntilDispatchable(900, now + 61 * SECOND));
+        }
+
+        @Test
+        @DisplayName("should hold every call while dispatch is paused")
+        void shouldHoldCallsWhilePaused() {
+                startDispatcher();
+
+                scheduler.pauseDispatch(Duration.ofSeconds(5));
+
+                assertTrue(scheduler.nanosUntilDispatchable(10, System.nanoTime()) > 4 * SECOND);
+        }
+
+        @Test
+        @DisplayName("should dispatch queued calls in call type priority order")
+        void shouldDispatchByPriority() throws Exception {
+                startDispatcher();
+                List<AiCallType> order = Collections.synchronizedList(new ArrayList<>());
+                scheduler.pauseDispatch(Duration.ofSeconds(1));
+
+                List<CompletableFuture<AiCallType>> calls = new ArrayList<>();
+                for (AiCallType type : List.of(AiCallType.HISTORY_SUMMARY, AiCallType.TURN, AiCallType.JUDGE)) {
+                        calls.add(CompletableFuture.supplyAsync(() -> scheduler.submit(type, 10, () -> {
+                                order.add(type);
+                                return type;
+                        })));
+                }
+                awaitQueueDepth(3);
+                CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+                assertEquals(List.of(AiCallType.JUDGE, AiCallType.TURN, AiCallType.HISTORY_SUMMARY), order);
+        }
+
+        @Test
+        @DisplayName("should fail a call that is not dispatched within its wait limit and never run it")
+        void shouldFailCallPastQueueWait() throws Exception {
+                ReflectionTestUtils.setField(scheduler, "maxTurnWaitMs", 50L);
+                startDispatcher();
+                scheduler.pauseDispatch(Duration.ofSeconds(1));
+                AtomicBoolean ran = new AtomicBoolean();
+
+                assertThrows(AiUnavailableException.class, () -> scheduler.submit(AiCallType.TURN, 10, () -> {
+                        ran.set(true);
+                        return "late";
+                }));
+
+                // The pause has ended and a later call goes through, but the abandoned one stays dropped
+                assertEquals("next", scheduler.submit(AiCallType.JUDGE, 10, () -> "next"));
+                assertFalse(ran.get());
+                assertEquals(1.0, meterRegistry.counter("ai.scheduler.rejected",
+                                "type", "TURN", "reason", "queue_timeout").count());
+        }
+
+        @Test
+        @DisplayName("should reject a call outright once the queue is at its maximum depth")
+        void shouldRejectWhenQueueFull() throws Exception {
+                ReflectionTestUtils.setField(scheduler, "maxQueueDepth", 1);
+                startDispatcher();
+                scheduler.pauseDispatch(Duration.ofSeconds(5));
+                CompletableFuture.runAsync(() -> scheduler.submit(AiCallType.TURN, 10, () -> "queued"));
+                awaitQueueDepth(1);
+
+                AiUnavailableException e = assertThrows(AiUnavailableException.class,
+                                () -> scheduler.submit(AiCallType.JUDGE, 10, () -> "rejected"));
+
+                assertEquals("AI request queue is full", e.getMessage());
+        }
+
+        private void awaitQueueDepth(int depth) throws InterruptedException {
+                long deadline = System.nanoTime() + 2 * SECOND;
+                while (scheduler.queueDepth() < depth) {
+                        assertTrue(System.nanoTime() < deadline, "calls were not queued in time");
+                        Thread.sleep(5);
+                }
+        }
+}
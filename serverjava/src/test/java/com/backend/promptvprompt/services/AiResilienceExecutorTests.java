@@ -0,0 +1,209 @@
+package com.backend.promptvprompt.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+
+import com.backend.promptvprompt.exceptions.AiUnavailableException;
+import com.backend.promptvprompt.models.AiCallType;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DisplayName("AiResilienceExecutor Tests")
+class AiResilienceExecutorTest {
+
+        private SimpleMeterRegistry meterRegistry;
+        private AiResilienceExecutor executor;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                executor = new AiResilienceExecutor(meterRegistry);
+                ReflectionTestUtils.setField(executor, "maxAttempts", 3);
+                ReflectionTestUtils.setField(executor, "backoffBaseMs", 1L);
+                ReflectionTestUtils.setField(executor, "backoffMaxMs", 2L);
+                ReflectionTestUtils.setField(executor, "hedgingEnabled", false);
+                ReflectionTestUtils.setField(executor, "circuitWindowSize", 4);
+                ReflectionTestUtils.setField(executor, "circuitFailureRateThreshold", 0.5);
+                ReflectionTestUtils.setField(executor, "circuitOpenDurationMs", 60_000L);
+                executor.init();
+        }
+
+        @Test
+        @DisplayName("should retry retryable status codes until a call succeeds")
+        void shouldRetryTransientFailures() {
+                AtomicInteger calls = new AtomicInteger();
+
+                String result = executor.execute(AiCallType.TURN, () -> {
+                        if (calls.incrementAndGet() < 3) {
+                                throw new HttpServerErrorException(HttpStatus.SERVICE_UNAVAILABLE);
+                        }
+                        return "ok";
+                });
+
+                assertEquals("ok", result);
+                assertEquals(3, calls.get());
+                assertEquals(2.0, meterRegistry.counter("ai.calls.retries", "type", "TURN").count());
+        }
+
+        @Test
+        @DisplayName("should not retry client errors other than 408 and 429")
+        void shouldNotRetryBadRequest() {
+                AtomicInteger calls = new AtomicInteger();
+
+                assertThrows(HttpClientErrorException.class, () -> executor.execute(AiCallType.JUDGE, () -> {
+                        calls.incrementAndGet();
+                        throw new HttpClientErrorException(HttpStatus.BAD_REQUEST);
+                }));
+
+                assertEquals(1, calls.get());
+        }
+
+        @Test
+        @DisplayName("should open the circuit and fail fast once the failure rate crosses the threshold")
+        void shouldOpenCircuitOnRepeatedFailures() {
+                ReflectionTestUtils.setField(executor, "maxAttempts", 2);
+                AtomicInteger calls = new AtomicInteger();
+
+                // Two calls of two attempts each fill the four-slot window with failures
+                for (int i = 0; i < 2; i++) {
+                        assertThrows(HttpServerErrorException.class, () -> executor.execute(AiCallType.TURN, () -> {
+                                calls.incrementAndGet();
+                                throw new HttpServerErrorException(HttpStatus.BAD_GATEWAY);
+                        }));
+                }
+                int callsBeforeOpen = calls.get();
+
+                assertThrows(AiUnavailableException.class,
+                                () -> executor.execute(AiCallType.TURN, () -> {
+                                        calls.incrementAndGet();
+                                        return "unreachable";
+                                }));
+                assertEquals(callsBeforeOpen, calls.get());
+                assertEquals(AiResilienceExecutor.CircuitBreaker.State.OPEN, executor.circuitState());
+        }
+
+        @Test
+        @DisplayName("should report the p95 of recorded latencies once enough samples exist")
+        void shouldComputeLatencyPercentile() {
+                AiResilienceExecutor.LatencyWindow window = new AiResilienceExecutor.LatencyWindow(100);
+                for (int i = 1; i <= 100; i++) {
+                        window.add(i);
+                }
+
+                assertEquals(95, window.percentile(0.95, 20));
+                assertEquals(0, new AiResilienceExecutor.LatencyWindow(100).percentile(0.95, 20));
+        }
+
+        @Test
+        @DisplayName("should honour Retry-After only up to the maximum backoff")
+        void shouldCapRetryAfterAtMaxBackoff() {
+                HttpHeaders headers = new HttpHeaders();
+                headers.set(HttpHeaders.RETRY_AFTER, "60");
+                HttpClientErrorException tooManyRequests = HttpClientErrorException.create(
+                                HttpStatus.TOO_MANY_REQUESTS, "Too Many Requests", headers, null, null);
+
+                assertEquals(Duration.ofSeconds(60), AiResilienceExecutor.retryAfter(tooManyRequests));
+                assertTrue(executor.backoff(1, tooManyRequests).toMillis() <= 2);
+        }
+
+        @Test
+        @DisplayName("should race a second request for a slow turn and cancel the slow one")
+        void shouldHedgeSlowTurn() throws InterruptedException {
+                enableHedging(AiCallType.TURN);
+                AtomicInteger calls = new AtomicInteger();
+                CountDownLatch primaryCancelled = new CountDownLatch(1);
+
+                String result = executor.call(AiCallType.TURN, () -> {
+                        if (calls.incrementAndGet() == 1) {
+                                try {
+                                        Thread.sleep(5_000);
+                                } catch (InterruptedException e) {
+                                        primaryCancelled.countDown();
+                                        throw new IllegalStateException("cancelled");
+                                }
+                                return "primary";
+                        }
+                        return "hedge";
+                }, () -> true, discarded -> fail("a cancelled request has no result to discard"));
+
+                assertEquals("hedge", result);
+                assertTrue(primaryCancelled.await(1, TimeUnit.SECONDS));
+                assertEquals(1.0, meterRegistry.counter("ai.calls.hedges", "type", "TURN").count());
+        }
+
+        @Test
+        @DisplayName("should hand a losing request that still succeeded to onDiscarded")
+        void shouldReportDiscardedResult() throws Exception {
+                enableHedging(AiCallType.TURN);
+                AtomicInteger calls = new AtomicInteger();
+                CompletableFuture<String> discarded = new CompletableFuture<>();
+
+                String result = executor.call(AiCallType.TURN, () -> {
+                        if (calls.incrementAndGet() == 1) {
+                                // Ignores the interrupt, like a response already on the wire
+                                long until = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+                                while (System.nanoTime() < until) {
+                                        Thread.onSpinWait();
+                                }
+                                return "primary";
+                        }
+                        return "hedge";
+                }, () -> true, discarded::complete);
+
+                assertEquals("hedge", result);
+                assertEquals("primary", discarded.get(1, TimeUnit.SECONDS));
+        }
+
+        @Test
+        @DisplayName("should only hedge turns, and only when the scheduler admits the extra request")
+        void shouldNotHedgeOtherTypesOrWhenRefused() {
+                enableHedging(AiCallType.JUDGE);
+                AtomicInteger calls = new AtomicInteger();
+
+                assertEquals("judge", executor.call(AiCallType.JUDGE, () -> {
+                        calls.incrementAndGet();
+                        sleepQuietly(100);
+                        return "judge";
+                }, () -> true, discarded -> fail("judge calls are not hedged")));
+
+                enableHedging(AiCallType.TURN);
+                assertEquals("turn", executor.call(AiCallType.TURN, () -> {
+                        calls.incrementAndGet();
+                        sleepQuietly(100);
+                        return "turn";
+                }, () -> false, discarded -> fail("the hedge was refused")));
+
+                assertEquals(2, calls.get());
+        }
+
+        // A fast first call gives the type a p95, so the next one is hedged after the 20ms minimum
+        private void enableHedging(AiCallType type) {
+                ReflectionTestUtils.setField(executor, "hedgingEnabled", true);
+                ReflectionTestUtils.setField(executor, "hedgeMinSamples", 1);
+                ReflectionTestUtils.setField(executor, "hedgeMinDelayMs", 20L);
+                executor.call(type, () -> "warm", () -> false, discarded -> {
+                });
+        }
+
+        private static void sleepQuietly(long millis) {
+                try {
+                        Thread.sleep(millis);
+                } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                }
+        }
+}
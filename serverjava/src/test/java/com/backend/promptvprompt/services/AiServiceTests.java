@@ -0,0 +1,128 @@
+package com.backend.promptvprompt.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.backend.promptvprompt.services.AiService.OpenAIResponse;
+
+import tools.jackson.databind.ObjectMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+@DisplayName("AiService Tests")
+class AiServiceTest {
+
+        private AiService aiService;
+
+        @BeforeEach
+        void setUp() {
+                // Reading a completion only needs the codecs
+                aiService = new AiService(null, null, null, new ObjectMapper(), null, null, null, null, null);
+                aiService.initCodecs();
+        }
+
+        private OpenAIResponse read(String body) {
+                return aiService.readCompletion(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        @Nested
+        @DisplayName("readCompletion")
+        class ReadCompletionTests {
+
+                @Test
+                @DisplayName("should keep only the first of several choices")
+                void shouldKeepFirstChoice() {
+                        OpenAIResponse response = read("""
+                                        {"choices":[
+                                          {"index":0,"message":{"role":"assistant","content":"First"},"finish_reason":"stop"},
+                                          {"index":1,"message":{"role":"assistant","content":"Second"},"finish_reason":"length"},
+                                          {"index":2,"message":{"role":"assistant","content":"Third"}}
+                                        ]}
+                                        """);
+
+                        assertEquals(1, response.getChoices().size());
+                        assertEquals("First", response.getChoices().get(0).getMessage().getContent());
+                        assertEquals("stop", response.getChoices().get(0).getFinishReason());
+                }
+
+                @Test
+                @DisplayName("should leave usage null when it is null or missing")
+                void shouldLeaveUsageNull() {
+                        String choices = "\"choices\":[{\"message\":{\"role\":\"assistant\",\"content\":\"Hi\"}}]";
+
+                        assertNull(read("{" + choices + ",\"usage\":null}").getUsage());
+                        assertNull(read("{" + choices + "}").getUsage());
+                }
+
+                @Test
+                @DisplayName("should bind usage with its nested prompt token details, before or after the choices")
+                void shouldBindNestedUsage() {
+                        OpenAIResponse response = read("""
+                                        {"usage":{"prompt_tokens":412,"completion_tokens":31,"total_tokens":443,
+                                                  "prompt_tokens_details":{"cached_tokens":256,"audio_tokens":0}},
+                                         "choices":[{"message":{"role":"assistant","content":"Hi"}}]}
+                                        """);
+
+                        assertEquals(412, response.getUsage().getPromptTokens());
+                        assertEquals(31, response.getUsage().getCompletionTokens());
+                        assertEquals(443, response.getUsage().getTotalTokens());
+                        assertEquals(256, response.getUsage().getPromptTokensDetails().getCachedTokens());
+                        assertEquals("Hi", response.getChoices().get(0).getMessage().getContent());
+                }
+
+                @Test
+                @DisplayName("should skip unknown fields, objects and arrays at every level")
+                void shouldSkipUnknownFields() {
+                        OpenAIResponse response = read("""
+                                        {"id":"chatcmpl-1","object":"chat.completion","created":1700000000,
+                                         "system_fingerprint":null,"service_tier":["default",{"tier":1}],
+                                         "metadata":{"nested":{"deeper":[1,[2,3],{"choices":[]}]}},
+                                         "choices":[{"index":0,
+                                                     "logprobs":{"content":[{"token":"Hi","bytes":[72,105]}]},
+                                                     "message":{"role":"assistant","content":"Hi","refusal":null,
+                                                                "annotations":[]},
+                                                     "finish_reason":"stop"}],
+                                         "usage":{"prompt_tokens":10,"completion_tokens":2,"total_tokens":12,
+                                                  "completion_tokens_details":{"reasoning_tokens":0}}}
+                                        """);
+
+                        assertEquals("Hi", response.getChoices().get(0).getMessage().getContent());
+                        assertEquals("assistant", response.getChoices().get(0).getMessage().getRole());
+                        assertEquals(12, response.getUsage().getTotalTokens());
+                        assertNull(response.getUsage().getPromptTokensDetails());
+                }
+
+                @Test
+                @DisplayName("should reject a body that is not a JSON object")
+                void shouldRejectNonObject() {
+                        assertThrows(IllegalStateException.class, () -> read("[]"));
+                        assertThrows(IllegalStateException.class, () -> read("\"rate limited\""));
+                        assertThrows(IllegalStateException.class, () -> read(""));
+                }
+
+                @Test
+                @DisplayName("should reject a body that is cut off instead of returning it half-filled")
+                void shouldRejectTruncatedBody() {
+                        assertThrows(IllegalStateException.class,
+                                        () -> read("{\"choices\":[{\"message\":{\"role\":\"assistant\",\"content\":\"Hi"));
+                        assertThrows(IllegalStateException.class,
+                                        () -> read("{\"choices\":[{\"message\":{\"content\":\"Hi\"}}],\"usage\":"));
+                        assertThrows(IllegalStateException.class,
+                                        () -> read("{\"choices\":[{\"message\":{\"content\":\"Hi\"}}]"));
+                }
+
+                @Test
+                @DisplayName("should reject a reply without any choice")
+                void shouldRejectMissingChoices() {
+                        assertThrows(IllegalStateException.class, () -> read("{\"choices\":[]}"));
+                        assertThrows(IllegalStateException.class, () -> read("{\"choices\":null}"));
+                        assertThrows(IllegalStateException.class,
+                                        () -> read("{\"usage\":{\"prompt_tokens\":1,\"completion_tokens\":0,\"total_tokens\":1}}"));
+                }
+        }
+}
@@ -0,0 +1,137 @@
+package com.backend.promptvprompt.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.backend.promptvprompt.DTO.Ai.TokenUsageSummary;
+import com.backend.promptvprompt.models.AiCallType;
+import com.backend.promptvprompt.models.AiCallUsage;
+import com.backend.promptvprompt.models.Game;
+import com.backend.promptvprompt.models.GamePhase;
+import com.backend.promptvprompt.models.User;
+import com.backend.promptvprompt.repos.AiCallUsageRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AiUsageService Tests")
+class AiUsageServiceTest {
+
+        @Mock
+        private AiCallUsageRepo aiCallUsageRepo;
+
+        private SimpleMeterRegistry meterRegistry;
+        private AiUsageService aiUsageService;
+        private Game game;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                aiUsageService = new AiUsageService(aiCallUsageRepo, meterRegistry);
+                ReflectionTestUtils.setField(aiUsageService, "maxBatch", 50);
+                ReflectionTestUtils.setField(aiUsageService, "queueCapacity", 100);
+                aiUsageService.start();
+
+                game = Game.builder()
+                                .id("game-1")
+                                .playerOne(User.builder().id("player-1").build())
+                                .playerTwo(User.builder().id("player-2").build())
+                                .phase(GamePhase.ATTACK)
+                                .build();
+        }
+
+        @AfterEach
+        void tearDown() throws InterruptedException {
+                aiUsageService.stop();
+        }
+
+        @Test
+        @DisplayName("Should write a usage row for the player the call was made for")
+        @SuppressWarnings("unchecked")
+        void record_WritesUsageRow() {
+                // Act
+                aiUsageService.record(game, "player-2", AiCallType.JUDGE, 120, 3, 64, 850L);
+
+                // Assert
+                ArgumentCaptor<List<AiCallUsage>> batch = ArgumentCaptor.forClass(List.class);
+                verify(aiCallUsageRepo, timeout(2000)).saveAll(batch.capture());
+                AiCallUsage usage = batch.getValue().get(0);
+                assertEquals("player-2", usage.getPlayer().getId());
+                assertEquals(game, usage.getGame());
+                assertEquals(AiCallType.JUDGE, usage.getCallType());
+                assertEquals(GamePhase.ATTACK, usage.getPhase());
+                assertEquals(120, usage.getPromptTokens());
+                assertEquals(3, usage.getCompletionTokens());
+                assertEquals(64, usage.getCachedTokens());
+                assertEquals(850L, usage.getLatencyMs());
+        }
+
+        @Test
+        @DisplayName("Should count a failed write and keep writing later rows")
+        void record_DatabaseFailureIsIsolated() {
+                // Arrange
+                when(aiCallUsageRepo.saveAll(anyList()))
+                                .thenThrow(new RuntimeException("database down"))
+                                .thenReturn(List.of());
+
+                // Act
+                assertDoesNotThrow(() -> aiUsageService.record(game, "player-1", AiCallType.TURN, 10, 5, null, 100L));
+                verify(aiCallUsageRepo, timeout(2000)).saveAll(anyList());
+                aiUsageService.record(game, "player-1", AiCallType.TURN, 10, 5, null, 100L);
+
+                // Assert
+                verify(aiCallUsageRepo, timeout(2000).times(2)).saveAll(anyList());
+                assertEquals(1.0, meterRegistry.counter("ai.usage.dropped", "reason", "write_failed").count());
+        }
+
+        @Test
+        @DisplayName("Should drop a row it cannot build instead of failing the caller")
+        void record_InvalidGameIsIsolated() {
+                // Arrange
+                Game withoutPlayers = Game.builder().id("game-2").build();
+
+                // Act
+                assertDoesNotThrow(() -> aiUsageService.record(withoutPlayers, "player-1", AiCallType.TURN, 10, 5,
+                                null, 100L));
+
+                // Assert
+                assertEquals(1.0, meterRegistry.counter("ai.usage.dropped", "reason", "invalid").count());
+                verify(aiCallUsageRepo, after(100).never()).saveAll(anyList());
+        }
+
+        @Test
+        @DisplayName("Should return the per-game, per-player and since-date summaries from the repository")
+        void summaries_DelegateToRepository() {
+                // Arrange
+                LocalDateTime since = LocalDateTime.of(2026, 1, 1, 0, 0);
+                List<TokenUsageSummary> byGame = List.of(
+                                new TokenUsageSummary(AiCallType.TURN, GamePhase.DEFENSE, 4, 400, 80, 0, 900.0));
+                List<TokenUsageSummary> byPlayer = List.of(
+                                new TokenUsageSummary(AiCallType.JUDGE, GamePhase.ATTACK, 1, 300, 1, 128, 450.0));
+                List<TokenUsageSummary> bySince = List.of(
+                                new TokenUsageSummary(AiCallType.SUMMARY, GamePhase.DEFENSE, 2, 500, 150, 0, 700.0));
+                when(aiCallUsageRepo.summarizeByGame("game-1")).thenReturn(byGame);
+                when(aiCallUsageRepo.summarizeByPlayer("player-1")).thenReturn(byPlayer);
+                when(aiCallUsageRepo.summarizeSince(since)).thenReturn(bySince);
+
+                // Act & Assert
+                assertEquals(byGame, aiUsageService.usageForGame("game-1"));
+                assertEquals(byPlayer, aiUsageService.usageForPlayer("player-1"));
+                assertEquals(bySince, aiUsageService.usageSince(since));
+                assertEquals(480, byGame.get(0).getTotalTokens());
+        }
+}
@@ -9,11 +9,13 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 import com.backend.promptvprompt.DTO.Auth.AuthResponse;
 import com.backend.promptvprompt.DTO.Auth.LoginRequest;
 import com.backend.promptvprompt.DTO.Auth.RegistrationRequest;
+import com.backend.promptvprompt.DTO.Auth.UserCredentials;
 import com.backend.promptvprompt.exceptions.InvalidCredentialsException;
 import com.backend.promptvprompt.exceptions.UserAlreadyExistsException;
 import com.backend.promptvprompt.models.RefreshToken;
@@ -115,8 +117,6 @@ class AuthServiceTest {
                 // Arrange
                 String accessToken = "generated-access-token";
 
-                when(userRepo.existsByEmail(registrationRequest.getEmail())).thenReturn(false);
-                when(userProfileRepo.existsByDisplayName(registrationRequest.getUsername())).thenReturn(false);
                 when(passwordEncoder.encode(registrationRequest.getPassword())).thenReturn("hashedPassword");
                 when(userRepo.save(any(User.class))).thenReturn(user);
                 when(userProfileRepo.save(any(UserProfile.class))).thenReturn(userProfile);
@@ -146,16 +146,70 @@ class AuthServiceTest {
                 assertEquals("/api/auth", capturedCookie.getPath());
         }
 
+        @Test
+        @DisplayName("Should map a duplicate email constraint violation to UserAlreadyExistsException")
+        void register_DuplicateEmail_ThrowsUserAlreadyExists() {
+                // Arrange
+                when(passwordEncoder.encode(registrationRequest.getPassword())).thenReturn("hashedPassword");
+                when(userRepo.save(any(User.class))).thenReturn(user);
+                doThrow(new DataIntegrityViolationException("insert failed",
+                                new RuntimeException("duplicate key value violates unique constraint \"uk_users_email\"")))
+                                .when(userProfileRepo).flush();
+
+                // Act & Assert
+                UserAlreadyExistsException exception = assertThrows(UserAlreadyExistsException.class,
+                                () -> authService.register(registrationRequest, response));
+
+                assertEquals("Email is already registered", exception.getMessage());
+                verify(refreshTokenService, never()).createRefreshToken(any());
+                verify(response, never()).addCookie(any());
+        }
+
+        @Test
+        @DisplayName("Should map a duplicate display name constraint violation to UserAlreadyExistsException")
+        void register_DuplicateUsername_ThrowsUserAlreadyExists() {
+                // Arrange
+                when(passwordEncoder.encode(registrationRequest.getPassword())).thenReturn("hashedPassword");
+                when(userRepo.save(any(User.class))).thenReturn(user);
+                doThrow(new DataIntegrityViolationException("insert failed",
+                                new RuntimeException("duplicate key value violates unique constraint "
+                                                + "\"uk_user_profiles_display_name\"")))
+                                .when(userProfileRepo).flush();
+
+                // Act & Assert
+                UserAlreadyExistsException exception = assertThrows(UserAlreadyExistsException.class,
+                                () -> authService.register(registrationRequest, response));
+
+                assertEquals("Username is already taken", exception.getMessage());
+                verify(jwtService, never()).generateAccessToken(any(), any());
+        }
+
         // ========== LOGIN TESTS ==========
 
+        @Test
+        @DisplayName("Should reject login when no profile matches the username")
+        void login_UnknownUsername_ThrowsInvalidCredentials() {
+                // Arrange
+                when(userProfileRepo.findCredentialsByDisplayName(loginRequest.getUsername()))
+                                .thenReturn(Optional.empty());
+
+                // Act & Assert
+                InvalidCredentialsException exception = assertThrows(InvalidCredentialsException.class,
+                                () -> authService.login(loginRequest, response));
+
+                assertEquals("Invalid username or password", exception.getMessage());
+                verify(passwordEncoder, never()).matches(any(), any());
+        }
+
         @Test
         @DisplayName("Should create access token, refresh token, and set cookie during login")
         void login_CreatesTokensAndSetsCookie() {
                 // Arrange
                 String accessToken = "generated-access-token";
 
-                when(userProfileRepo.findByDisplayName(loginRequest.getUsername()))
-                                .thenReturn(Optional.of(userProfile));
+                when(userProfileRepo.findCredentialsByDisplayName(loginRequest.getUsername()))
+                                .thenReturn(Optional.of(new UserCredentials(user.getId(), user.getEmail(),
+                                                user.getPasswordHash(), userProfile.getDisplayName())));
                 when(passwordEncoder.matches(loginRequest.getPassword(), user.getPasswordHash())).thenReturn(true);
                 when(jwtService.generateAccessToken(user.getId(), user.getEmail())).thenReturn(accessToken);
                 when(refreshTokenService.createRefreshToken(user.getId())).thenReturn(refreshToken);
@@ -0,0 +1,229 @@
+package com.backend.promptvprompt.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.backend.promptvprompt.events.GameCompletedEvent;
+import com.backend.promptvprompt.models.GameEndReason;
+import com.backend.promptvprompt.models.GamePhase;
+import com.backend.promptvprompt.models.GameTurn;
+import com.backend.promptvprompt.services.ConversationContextManager.ContextKey;
+import com.backend.promptvprompt.services.ConversationContextManager.ContextWindow;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DisplayName("ConversationContextManager Tests")
+class ConversationContextManagerTest {
+
+        private static final ContextKey KEY = ConversationContextManager.key("game-1", "player-1", GamePhase.ATTACK);
+
+        private ConversationContextManager manager;
+
+        @BeforeEach
+        void setUp() {
+                manager = new ConversationContextManager();
+                ReflectionTestUtils.setField(manager, "maxHistoryTokens", 1500);
+                ReflectionTestUtils.setField(manager, "recentTurns", 4);
+                ReflectionTestUtils.setField(manager, "foldBatch", 2);
+                ReflectionTestUtils.setField(manager, "idleEvictionMs", 3600000L);
+        }
+
+        // Folds run on a background thread; one is done once its key leaves the in-progress set
+        private void awaitFolds() throws InterruptedException {
+                Set<?> folding = (Set<?>) ReflectionTestUtils.getField(manager, "folding");
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+                while (!folding.isEmpty()) {
+                        assertTrue(System.nanoTime() < deadline, "fold did not finish in time");
+                        Thread.sleep(5);
+                }
+        }
+
+        private static GameCompletedEvent completed(String gameId) {
+                return new GameCompletedEvent(gameId, "player-1", "player-2", null, GameEndReason.DRAW);
+        }
+
+        private List<GameTurn> turns(int count, int messageLength) {
+                List<GameTurn> turns = new ArrayList<>();
+                for (int i = 1; i <= count; i++) {
+                        turns.add(GameTurn.builder()
+                                        .turnNumber(i)
+                                        .phase(GamePhase.ATTACK)
+                                        .playerMessage("m".repeat(messageLength))
+                                        .aiResponse("reply " + i)
+                                        .build());
+                }
+                return turns;
+        }
+
+        @Test
+        @DisplayName("Should render a system prefix once and reuse it for the same cache key")
+        void systemPrefix_RendersOncePerKey() {
+                // Arrange
+                AtomicInteger renders = new AtomicInteger();
+
+                // Act
+                List<String> first = manager.systemPrefix("game-1", "game-1:defense",
+                                () -> List.of("prompt " + renders.incrementAndGet()));
+                List<String> second = manager.systemPrefix("game-1", "game-1:defense",
+                                () -> List.of("prompt " + renders.incrementAndGet()));
+
+                // Assert
+                assertEquals(1, renders.get());
+                assertSame(first, second);
+        }
+
+        @Test
+        @DisplayName("Should send a short history verbatim without folding")
+        void select_ShortHistory_NoFold() {
+                // Arrange
+                List<GameTurn> history = turns(5, 40);
+
+                // Act
+                ContextWindow window = manager.select(KEY, history);
+
+                // Assert
+                assertNull(window.getSummary());
+                assertEquals(5, window.getVerbatimTurns().size());
+                assertFalse(window.needsFold());
+        }
+
+        @Test
+        @DisplayName("Should ask to fold everything but the recent turns once a batch has piled up")
+        void select_LongHistory_RequestsFold() {
+                // Arrange
+                List<GameTurn> history = turns(6, 40);
+
+                // Act
+                ContextWindow window = manager.select(KEY, history);
+
+                // Assert
+                assertEquals(6, window.getVerbatimTurns().size());
+                assertEquals(2, window.getFoldTo());
+        }
+
+        @Test
+        @DisplayName("Should drop the oldest turns when the history exceeds the token cap")
+        void select_OverTokenCap_DropsOldestTurns() {
+                // Arrange - each turn is roughly 500 tokens
+                List<GameTurn> history = turns(5, 2000);
+
+                // Act
+                ContextWindow window = manager.select(KEY, history);
+
+                // Assert
+                assertEquals(2, window.getVerbatimTurns().size());
+                assertEquals(4, window.getVerbatimTurns().get(0).getTurnNumber());
+                assertEquals(3, window.getFoldTo());
+        }
+
+        @Test
+        @DisplayName("Should fold into a running summary and build the next fold on top of it")
+        void foldAsync_FoldsAndReusesSummary() throws InterruptedException {
+                // Arrange
+                List<GameTurn> history = turns(8, 40);
+                List<String> previousSummaries = new ArrayList<>();
+                List<Integer> foldedTurns = new ArrayList<>();
+                AtomicInteger folds = new AtomicInteger();
+
+                // Act
+                manager.foldAsync(KEY, history.subList(0, 6), 2, (previous, turns) -> {
+                        previousSummaries.add(previous);
+                        foldedTurns.add(turns.size());
+                        return "summary " + folds.incrementAndGet();
+                });
+                awaitFolds();
+                ContextWindow afterFirst = manager.select(KEY, history);
+                manager.foldAsync(KEY, history, afterFirst.getFoldTo(), (previous, turns) -> {
+                        previousSummaries.add(previous);
+                        foldedTurns.add(turns.size());
+                        return "summary " + folds.incrementAndGet();
+                });
+                awaitFolds();
+                ContextWindow afterSecond = manager.select(KEY, history);
+
+                // Assert
+                assertEquals("summary 1", afterFirst.getSummary());
+                assertEquals(3, afterFirst.getVerbatimTurns().get(0).getTurnNumber());
+                assertEquals(4, afterFirst.getFoldTo());
+                assertEquals(Arrays.asList(null, "summary 1"), previousSummaries);
+                assertEquals(List.of(2, 2), foldedTurns);
+                assertEquals("summary 2", afterSecond.getSummary());
+                assertEquals(4, afterSecond.getVerbatimTurns().size());
+                assertFalse(afterSecond.needsFold());
+        }
+
+        @Test
+        @DisplayName("Should drop a fold that finishes after the game completed")
+        void foldAsync_GameCompletedMidFold_DiscardsSummary() throws InterruptedException {
+                // Arrange
+                List<GameTurn> history = turns(6, 40);
+                CountDownLatch release = new CountDownLatch(1);
+                manager.foldAsync(KEY, history, 2, (previous, turns) -> {
+                        try {
+                                release.await(2, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                        }
+                        return "late summary";
+                });
+
+                // Act
+                manager.onGameCompleted(completed("game-1"));
+                release.countDown();
+                awaitFolds();
+
+                // Assert
+                assertNull(manager.select(KEY, history).getSummary());
+        }
+
+        @Test
+        @DisplayName("Should drop the completed game's summaries and prefixes and keep other games'")
+        void onGameCompleted_DropsOnlyThatGame() throws InterruptedException {
+                // Arrange
+                ContextKey otherKey = ConversationContextManager.key("game-2", "player-1", GamePhase.ATTACK);
+                List<GameTurn> history = turns(6, 40);
+                AtomicInteger renders = new AtomicInteger();
+                manager.foldAsync(KEY, history, 2, (previous, turns) -> "summary game-1");
+                manager.foldAsync(otherKey, history, 2, (previous, turns) -> "summary game-2");
+                awaitFolds();
+                manager.systemPrefix("game-1", "game-1:defense", () -> List.of("prompt " + renders.incrementAndGet()));
+                manager.systemPrefix("game-2", "game-2:defense", () -> List.of("prompt " + renders.incrementAndGet()));
+
+                // Act
+                manager.onGameCompleted(completed("game-1"));
+
+                // Assert
+                assertNull(manager.select(KEY, history).getSummary());
+                assertEquals("summary game-2", manager.select(otherKey, history).getSummary());
+                manager.systemPrefix("game-2", "game-2:defense", () -> List.of("prompt " + renders.incrementAndGet()));
+                assertEquals(2, renders.get());
+                manager.systemPrefix("game-1", "game-1:defense", () -> List.of("prompt " + renders.incrementAndGet()));
+                assertEquals(3, renders.get());
+        }
+
+        @Test
+        @DisplayName("Should age out games that have gone idle")
+        void evictIdle_DropsIdleGames() throws InterruptedException {
+                // Arrange
+                List<GameTurn> history = turns(6, 40);
+                manager.foldAsync(KEY, history, 2, (previous, turns) -> "summary");
+                awaitFolds();
+                ReflectionTestUtils.setField(manager, "idleEvictionMs", -1000L);
+
+                // Act
+                manager.evictIdle();
+
+                // Assert
+                assertNull(manager.select(KEY, history).getSummary());
+        }
+}
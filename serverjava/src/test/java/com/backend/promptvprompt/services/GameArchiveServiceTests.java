@@ -0,0 +1,174 @@
+package com.backend.promptvprompt.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.backend.promptvprompt.repos.GameArchiveRepo;
+import com.backend.promptvprompt.repos.GameRepo;
+import com.backend.promptvprompt.repos.GameTurnRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GameArchiveService Tests")
+class GameArchiveServiceTest {
+
+        @Mock
+        private GameRepo gameRepo;
+
+        @Mock
+        private GameTurnRepo gameTurnRepo;
+
+        @Mock
+        private GameArchiveRepo gameArchiveRepo;
+
+        @Mock
+        private ReplayExportService replayExportService;
+
+        @Mock
+        private PlatformTransactionManager transactionManager;
+
+        private SimpleMeterRegistry meterRegistry;
+        private GameArchiveService gameArchiveService;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                gameArchiveService = new GameArchiveService(gameRepo, gameTurnRepo, gameArchiveRepo,
+                                replayExportService, transactionManager, meterRegistry);
+                ReflectionTestUtils.setField(gameArchiveService, "enabled", true);
+                ReflectionTestUtils.setField(gameArchiveService, "afterDays", 180L);
+                ReflectionTestUtils.setField(gameArchiveService, "batchSize", 2);
+                ReflectionTestUtils.setField(gameArchiveService, "maxBatchesPerRun", 10);
+                gameArchiveService.init();
+        }
+
+        private static byte[] replay(String gameId) {
+                return ("{\"gameId\":\"" + gameId + "\",\"turns\":[{\"id\":\"turn-1\",\"playerMessage\":\"Hi\"}]}")
+                                .getBytes(StandardCharsets.UTF_8);
+        }
+
+        private static byte[] gunzip(byte[] payload) throws IOException {
+                try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(payload))) {
+                        return in.readAllBytes();
+                }
+        }
+
+        @Test
+        @DisplayName("Should lock, render, store, delete turns and stub, in that order")
+        void archive_RunsBatchStepsInOrder() {
+                // Arrange
+                when(gameRepo.lockArchivableIds(any(LocalDateTime.class), eq(2))).thenReturn(List.of("game-1"));
+                when(replayExportService.renderGame("game-1")).thenReturn(Optional.of(replay("game-1")));
+
+                // Act
+                gameArchiveService.archiveCompletedGames();
+
+                // Assert
+                InOrder order = inOrder(gameRepo, replayExportService, gameArchiveRepo, gameTurnRepo);
+                order.verify(gameRepo).lockArchivableIds(any(LocalDateTime.class), eq(2));
+                order.verify(replayExportService).renderGame("game-1");
+                order.verify(gameArchiveRepo).insert(eq("game-1"), any(byte[].class), any(LocalDateTime.class));
+                order.verify(gameTurnRepo).deleteByGameIds(List.of("game-1"));
+                order.verify(gameRepo).stubArchived(eq(List.of("game-1")), any(LocalDateTime.class));
+        }
+
+        @Test
+        @DisplayName("Should keep taking batches while they come back full and stop at the first short one")
+        void archive_StopsAfterShortBatch() {
+                // Arrange
+                when(gameRepo.lockArchivableIds(any(LocalDateTime.class), eq(2)))
+                                .thenReturn(List.of("game-1", "game-2"))
+                                .thenReturn(List.of("game-3"));
+                when(replayExportService.renderGame(anyString()))
+                                .thenAnswer(invocation -> Optional.of(replay(invocation.getArgument(0))));
+
+                // Act
+                gameArchiveService.archiveCompletedGames();
+
+                // Assert
+                verify(gameRepo, times(2)).lockArchivableIds(any(LocalDateTime.class), eq(2));
+                verify(gameArchiveRepo, times(3)).insert(anyString(), any(byte[].class), any(LocalDateTime.class));
+                assertEquals(3.0, meterRegistry.counter("games.archive.archived").count());
+        }
+
+        @Test
+        @DisplayName("Should store a payload that gunzips back to the rendered replay line")
+        void archive_PayloadRoundTrips() throws IOException {
+                // Arrange
+                when(gameRepo.lockArchivableIds(any(LocalDateTime.class), eq(2))).thenReturn(List.of("game-1"));
+                when(replayExportService.renderGame("game-1")).thenReturn(Optional.of(replay("game-1")));
+
+                // Act
+                gameArchiveService.archiveCompletedGames();
+
+                // Assert
+                ArgumentCaptor<byte[]> payload = ArgumentCaptor.forClass(byte[].class);
+                verify(gameArchiveRepo).insert(eq("game-1"), payload.capture(), any(LocalDateTime.class));
+                assertArrayEquals(replay("game-1"), gunzip(payload.getValue()));
+        }
+
+        @Test
+        @DisplayName("Should not pick an archived game again on the next run")
+        @SuppressWarnings("unchecked")
+        void archive_SkipsArchivedGames() {
+                // Arrange: the lock query only returns games without archived_at, which stubArchived sets
+                List<String> completed = List.of("game-1", "game-2", "game-3");
+                Set<String> archived = new HashSet<>();
+                when(gameRepo.lockArchivableIds(any(LocalDateTime.class), eq(2))).thenAnswer(invocation -> completed
+                                .stream().filter(id -> !archived.contains(id)).limit(2).toList());
+                when(gameRepo.stubArchived(anyCollection(), any(LocalDateTime.class))).thenAnswer(invocation -> {
+                        archived.addAll((Collection<String>) invocation.getArgument(0));
+                        return archived.size();
+                });
+                when(replayExportService.renderGame(anyString()))
+                                .thenAnswer(invocation -> Optional.of(replay(invocation.getArgument(0))));
+
+                // Act
+                gameArchiveService.archiveCompletedGames();
+                gameArchiveService.archiveCompletedGames();
+
+                // Assert
+                for (String gameId : completed) {
+                        verify(gameArchiveRepo).insert(eq(gameId), any(byte[].class), any(LocalDateTime.class));
+                }
+                assertEquals(3.0, meterRegistry.counter("games.archive.archived").count());
+        }
+
+        @Test
+        @DisplayName("Should do nothing while archiving is disabled")
+        void archive_DisabledDoesNothing() {
+                // Arrange
+                ReflectionTestUtils.setField(gameArchiveService, "enabled", false);
+
+                // Act
+                gameArchiveService.archiveCompletedGames();
+
+                // Assert
+                verifyNoInteractions(gameRepo, gameTurnRepo, gameArchiveRepo, replayExportService);
+        }
+}
@@ -0,0 +1,95 @@
+package com.backend.promptvprompt.services;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.backend.promptvprompt.models.GameEndReason;
+import com.backend.promptvprompt.models.UserProfile;
+import com.backend.promptvprompt.repos.GameRepo;
+
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GameResultService Tests")
+class GameResultServiceTest {
+
+        @Mock
+        private GameRepo gameRepo;
+
+        @Mock
+        private EntityManagerFactory entityManagerFactory;
+
+        @Mock
+        private Cache cache;
+
+        @InjectMocks
+        private GameResultService gameResultService;
+
+        @Test
+        @DisplayName("Should evict both updated profiles from the second-level cache")
+        void complete_EvictsProfilesImmediately() {
+                // Arrange
+                when(gameRepo.completeGame(eq("game-1"), eq("player-1"), eq("FULL_CONVICTION"), any(), any()))
+                                .thenReturn(List.of("profile-1", "profile-2"));
+                when(entityManagerFactory.getCache()).thenReturn(cache);
+
+                // Act
+                boolean completed = gameResultService.complete("game-1", "player-1", GameEndReason.FULL_CONVICTION);
+
+                // Assert
+                assertTrue(completed);
+                verify(cache).evict(UserProfile.class, "profile-1");
+                verify(cache).evict(UserProfile.class, "profile-2");
+        }
+
+        @Test
+        @DisplayName("Should not evict anything when the game was already completed")
+        void complete_AlreadyCompletedEvictsNothing() {
+                // Arrange
+                when(gameRepo.completeGame(eq("game-1"), eq("player-1"), eq("FULL_CONVICTION"), any(), any()))
+                                .thenReturn(List.of());
+
+                // Act
+                boolean completed = gameResultService.complete("game-1", "player-1", GameEndReason.FULL_CONVICTION);
+
+                // Assert
+                assertFalse(completed);
+                verifyNoInteractions(entityManagerFactory);
+        }
+
+        @Test
+        @DisplayName("Should stamp the completion in local time, the same clock as every other timestamp")
+        void complete_UsesLocalClock() {
+                // Arrange
+                when(gameRepo.completeGame(eq("game-1"), isNull(), eq("DRAW"), any(), any())).thenReturn(List.of());
+                LocalDateTime before = LocalDateTime.now();
+
+                // Act
+                gameResultService.complete("game-1", null, GameEndReason.DRAW);
+
+                // Assert
+                ArgumentCaptor<LocalDateTime> startOfDay = ArgumentCaptor.forClass(LocalDateTime.class);
+                ArgumentCaptor<LocalDateTime> now = ArgumentCaptor.forClass(LocalDateTime.class);
+                verify(gameRepo).completeGame(eq("game-1"), isNull(), eq("DRAW"), startOfDay.capture(), now.capture());
+                assertFalse(now.getValue().isBefore(before));
+                assertFalse(now.getValue().isAfter(LocalDateTime.now()));
+                assertEquals(LocalDate.now(ZoneOffset.UTC).atStartOfDay(ZoneOffset.UTC).toInstant(),
+                                startOfDay.getValue().atZone(ZoneId.systemDefault()).toInstant());
+        }
+}
@@ -8,8 +8,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import com.backend.promptvprompt.DTO.Ai.AiReply;
+import com.backend.promptvprompt.DTO.Game.GameRoomRow;
+import com.backend.promptvprompt.DTO.Game.GameRoomView;
+import com.backend.promptvprompt.events.GameCompletedEvent;
 import com.backend.promptvprompt.models.Game;
 import com.backend.promptvprompt.models.GameEndReason;
 import com.backend.promptvprompt.models.GamePhase;
@@ -24,6 +30,8 @@ import com.backend.promptvprompt.repos.UserRepo;
 import com.backend.promptvprompt.services.AiService;
 import com.backend.promptvprompt.services.GameService;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -47,12 +55,27 @@ class GameServiceTest {
         @Mock
         private AiService aiService;
 
+        @Mock
+        private TranscriptBuffer transcriptBuffer;
+
+        @Mock
+        private TurnJournal turnJournal;
+
+        @Mock
+        private GameResultService gameResultService;
+
         @Mock
         private UserRepo userRepo;
 
         @Mock
         private ScenarioTemplateRepo scenarioTemplateRepo;
 
+        @Spy
+        private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        @Mock
+        private ApplicationEventPublisher eventPublisher;
+
         @InjectMocks
         private GameService gameService;
 
@@ -112,6 +135,36 @@ class GameServiceTest {
                         assertEquals("player-1", result.getPlayerOne().getId());
                         assertEquals("player-2", result.getPlayerTwo().getId());
                 }
+
+                @Test
+                @DisplayName("should pick the template from the cached id list by id")
+                void shouldPickTemplateFromCachedIds() {
+                        // Arrange
+                        ScenarioTemplate template = ScenarioTemplate.builder()
+                                        .id("template-1")
+                                        .build();
+                        when(scenarioTemplateRepo.findAllIds()).thenReturn(List.of("template-1"));
+                        when(scenarioTemplateRepo.findById("template-1")).thenReturn(Optional.of(template));
+
+                        // Act
+                        ScenarioTemplate result = gameService.generateTemplate();
+
+                        // Assert
+                        assertEquals(template, result);
+                        verify(scenarioTemplateRepo, never()).count();
+                }
+
+                @Test
+                @DisplayName("should throw when there are no templates")
+                void shouldThrowWhenNoTemplates() {
+                        // Arrange
+                        when(scenarioTemplateRepo.findAllIds()).thenReturn(List.of());
+
+                        // Act & Assert
+                        RuntimeException exception = assertThrows(RuntimeException.class,
+                                        () -> gameService.generateTemplate());
+                        assertEquals("No templates available", exception.getMessage());
+                }
         }
 
         @Nested
@@ -296,21 +349,58 @@ class GameServiceTest {
                         when(gameTurnRepo.findByGameIdAndPlayerIdAndPhaseOrderByTurnNumberAsc(anyString(), anyString(),
                                         any()))
                                         .thenReturn(Collections.emptyList());
-                        when(aiService.summarizeDefense(anyList())).thenReturn("Summary");
-                        when(gameRepo.save(any(Game.class))).thenReturn(mockGame);
+                        when(aiService.summarizeDefense(any(Game.class), anyString(), anyList())).thenReturn("Summary");
+                        when(gameRepo.claimAttackTransition(eq("game-1"), any(LocalDateTime.class),
+                                        any(LocalDateTime.class))).thenReturn(1);
 
                         // Act
                         gameService.checkPhaseTransition("game-1");
 
                         // Assert
-                        verify(gameRepo).save(argThat(game -> game.getIsTransitioning() &&
-                                        game.getPhase() == GamePhase.ATTACK &&
-                                        game.getPlayerOneDefenseSummary().equals("Summary") &&
-                                        game.getPlayerTwoDefenseSummary().equals("Summary") &&
-                                        game.getStatus() == GameStatus.ATTACK_PHASE &&
-                                        game.getTransitionEndsAt() != null &&
-                                        game.getTransitionEndsAt().isAfter(LocalDateTime.now().minusSeconds(1))));
+                        verify(gameRepo).completeAttackTransition(eq("game-1"), eq("Summary"), eq("Summary"),
+                                        argThat(endsAt -> endsAt.isAfter(LocalDateTime.now().minusSeconds(1))),
+                                        any(LocalDateTime.class));
+                        verify(gameRepo, never()).save(any(Game.class));
+                }
+
+                @Test
+                @DisplayName("should not summarize when another caller already claimed the transition")
+                void shouldNotSummarizeWhenTransitionAlreadyClaimed() {
+                        // Arrange
+                        when(gameRepo.claimAttackTransition(eq("game-1"), any(LocalDateTime.class),
+                                        any(LocalDateTime.class))).thenReturn(0);
+
+                        // Act
+                        gameService.transitionToAttack("game-1");
+
+                        // Assert
+                        verify(aiService, never()).summarizeDefense(any(), anyString(), anyList());
+                        verify(gameRepo, never()).completeAttackTransition(anyString(), any(), any(), any(), any());
+                }
+
+                @Test
+                @DisplayName("should release the claim when a defense summary fails")
+                void shouldReleaseClaimWhenSummaryFails() {
+                        // Arrange
+                        Game mockGame = Game.builder()
+                                        .id("game-1")
+                                        .phase(GamePhase.DEFENSE)
+                                        .playerOne(playerOne)
+                                        .playerTwo(playerTwo)
+                                        .build();
+                        when(gameRepo.claimAttackTransition(eq("game-1"), any(LocalDateTime.class),
+                                        any(LocalDateTime.class))).thenReturn(1);
+                        when(gameRepo.findById("game-1")).thenReturn(Optional.of(mockGame));
+                        when(gameTurnRepo.findByGameIdAndPlayerIdAndPhaseOrderByTurnNumberAsc(anyString(), anyString(),
+                                        any()))
+                                        .thenReturn(Collections.emptyList());
+                        when(aiService.summarizeDefense(any(Game.class), anyString(), anyList()))
+                                        .thenThrow(new RuntimeException("Failed to summarize defense"));
 
+                        // Act & Assert
+                        assertThrows(RuntimeException.class, () -> gameService.transitionToAttack("game-1"));
+                        verify(gameRepo).releaseAttackTransition("game-1");
+                        verify(gameRepo, never()).completeAttackTransition(anyString(), any(), any(), any(), any());
                 }
 
                 @Test
@@ -393,6 +483,30 @@ class GameServiceTest {
                         verify(spyService, never()).determineWinner(anyString());
                 }
 
+                @Test
+                @DisplayName("should not judge a game that is already completed")
+                void shouldNotRejudgeCompletedGame() {
+                        // Arrange
+                        Game mockGame = Game.builder()
+                                        .id("game-1")
+                                        .phase(GamePhase.ATTACK)
+                                        .status(GameStatus.COMPLETED)
+                                        .maxTurnsPerPhase(5)
+                                        .playerOne(playerOne)
+                                        .playerTwo(playerTwo)
+                                        .build();
+
+                        when(gameRepo.findById("game-1")).thenReturn(Optional.of(mockGame));
+
+                        // Act
+                        boolean result = gameService.checkGameEnd("game-1");
+
+                        // Assert
+                        assertTrue(result);
+                        verify(aiService, never()).checkSecretRevealed(any(Game.class), anyString(), anyList());
+                        verify(gameRepo, never()).save(any(Game.class));
+                }
+
                 @Test
                 @DisplayName("should determine winner when both players complete attack turns")
                 void shouldDetermineWinnerWhenTurnsComplete() {
@@ -417,16 +531,16 @@ class GameServiceTest {
                         when(gameTurnRepo.findByGameIdAndPlayerIdAndPhaseOrderByTurnNumberAsc(anyString(), anyString(),
                                         any()))
                                         .thenReturn(Collections.emptyList());
-                        when(aiService.checkSecretRevealed(any(Game.class), anyList()))
+                        when(aiService.checkSecretRevealed(any(Game.class), anyString(), anyList()))
                                         .thenReturn(true) // P1 succeeded
                                         .thenReturn(false); // P2 failed
-                        when(gameRepo.save(any(Game.class))).thenReturn(mockGame);
+                        when(gameResultService.complete(eq("game-1"), any(), any(GameEndReason.class))).thenReturn(true);
 
                         // Act
                         gameService.checkGameEnd("game-1");
 
                         // Assert
-                        verify(gameRepo).save(any(Game.class));
+                        verify(gameResultService).complete("game-1", "player-1", GameEndReason.FULL_CONVICTION);
                 }
         }
 
@@ -466,19 +580,18 @@ class GameServiceTest {
                         when(gameTurnRepo.findByGameIdAndPlayerIdAndPhaseOrderByTurnNumberAsc("game-1", "player-2",
                                         GamePhase.ATTACK))
                                         .thenReturn(p2Turns);
-                        when(aiService.checkSecretRevealed(eq(mockGame), eq(p1Turns)))
+                        when(aiService.checkSecretRevealed(eq(mockGame), eq("player-1"), eq(p1Turns)))
                                         .thenReturn(true);
-                        when(aiService.checkSecretRevealed(eq(mockGame), eq(p2Turns)))
+                        when(aiService.checkSecretRevealed(eq(mockGame), eq("player-2"), eq(p2Turns)))
                                         .thenReturn(false);
-                        when(gameRepo.save(any(Game.class))).thenReturn(mockGame);
+                        when(gameResultService.complete(eq("game-1"), any(), any(GameEndReason.class))).thenReturn(true);
 
                         // Act
                         gameService.determineWinner("game-1");
 
                         // Assert
-                        verify(gameRepo).save(argThat(game -> game.getStatus() == GameStatus.COMPLETED &&
-                                        game.getWinner().getId().equals("player-1") &&
-                                        game.getEndReason() == GameEndReason.FULL_CONVICTION));
+                        verify(gameResultService).complete("game-1", "player-1", GameEndReason.FULL_CONVICTION);
+                        verify(eventPublisher).publishEvent(any(GameCompletedEvent.class));
                 }
 
                 @Test
@@ -496,19 +609,18 @@ class GameServiceTest {
                         when(gameTurnRepo.findByGameIdAndPlayerIdAndPhaseOrderByTurnNumberAsc("game-1", "player-2",
                                         GamePhase.ATTACK))
                                         .thenReturn(p2Turns);
-                        when(aiService.checkSecretRevealed(eq(mockGame), eq(p1Turns)))
+                        when(aiService.checkSecretRevealed(eq(mockGame), eq("player-1"), eq(p1Turns)))
                                         .thenReturn(false);
-                        when(aiService.checkSecretRevealed(eq(mockGame), eq(p2Turns)))
+                        when(aiService.checkSecretRevealed(eq(mockGame), eq("player-2"), eq(p2Turns)))
                                         .thenReturn(true);
-                        when(gameRepo.save(any(Game.class))).thenReturn(mockGame);
+                        when(gameResultService.complete(eq("game-1"), any(), any(GameEndReason.class))).thenReturn(true);
 
                         // Act
                         gameService.determineWinner("game-1");
 
                         // Assert
-                        verify(gameRepo).save(argThat(game -> game.getStatus() == GameStatus.COMPLETED &&
-                                        game.getWinner().getId().equals("player-2") &&
-                                        game.getEndReason() == GameEndReason.FULL_CONVICTION));
+                        verify(gameResultService).complete("game-1", "player-2", GameEndReason.FULL_CONVICTION);
+                        verify(eventPublisher).publishEvent(any(GameCompletedEvent.class));
                 }
 
                 @Test
@@ -526,19 +638,18 @@ class GameServiceTest {
                         when(gameTurnRepo.findByGameIdAndPlayerIdAndPhaseOrderByTurnNumberAsc("game-1", "player-2",
                                         GamePhase.ATTACK))
                                         .thenReturn(p2Turns);
-                        when(aiService.checkSecretRevealed(eq(mockGame), eq(p1Turns)))
+                        when(aiService.checkSecretRevealed(eq(mockGame), eq("player-1"), eq(p1Turns)))
                                         .thenReturn(true);
-                        when(aiService.checkSecretRevealed(eq(mockGame), eq(p2Turns)))
+                        when(aiService.checkSecretRevealed(eq(mockGame), eq("player-2"), eq(p2Turns)))
                                         .thenReturn(true);
-                        when(gameRepo.save(any(Game.class))).thenReturn(mockGame);
+                        when(gameResultService.complete(eq("game-1"), any(), any(GameEndReason.class))).thenReturn(true);
 
                         // Act
                         gameService.determineWinner("game-1");
 
                         // Assert
-                        verify(gameRepo).save(argThat(game -> game.getStatus() == GameStatus.COMPLETED &&
-                                        game.getWinner() == null &&
-                                        game.getEndReason() == GameEndReason.DRAW));
+                        verify(gameResultService).complete("game-1", null, GameEndReason.DRAW);
+                        verify(eventPublisher).publishEvent(any(GameCompletedEvent.class));
                 }
 
                 @Test
@@ -556,19 +667,39 @@ class GameServiceTest {
                         when(gameTurnRepo.findByGameIdAndPlayerIdAndPhaseOrderByTurnNumberAsc("game-1", "player-2",
                                         GamePhase.ATTACK))
                                         .thenReturn(p2Turns);
-                        when(aiService.checkSecretRevealed(eq(mockGame), eq(p1Turns)))
+                        when(aiService.checkSecretRevealed(eq(mockGame), eq("player-1"), eq(p1Turns)))
                                         .thenReturn(false);
-                        when(aiService.checkSecretRevealed(eq(mockGame), eq(p2Turns)))
+                        when(aiService.checkSecretRevealed(eq(mockGame), eq("player-2"), eq(p2Turns)))
                                         .thenReturn(false);
-                        when(gameRepo.save(any(Game.class))).thenReturn(mockGame);
+                        when(gameResultService.complete(eq("game-1"), any(), any(GameEndReason.class))).thenReturn(true);
+
+                        // Act
+                        gameService.determineWinner("game-1");
+
+                        // Assert
+                        verify(gameResultService).complete("game-1", null, GameEndReason.DRAW);
+                        verify(eventPublisher).publishEvent(any(GameCompletedEvent.class));
+                }
+
+                @Test
+                @DisplayName("should not record the result twice when another judge already completed the game")
+                void shouldNotPublishWhenGameAlreadyClaimed() {
+                        // Arrange
+                        Game mockGame = setupMockGame();
+
+                        when(gameRepo.findById("game-1")).thenReturn(Optional.of(mockGame));
+                        when(gameTurnRepo.findByGameIdAndPlayerIdAndPhaseOrderByTurnNumberAsc(anyString(), anyString(),
+                                        any()))
+                                        .thenReturn(Collections.emptyList());
+                        when(aiService.checkSecretRevealed(any(Game.class), anyString(), anyList()))
+                                        .thenReturn(false);
+                        when(gameResultService.complete("game-1", null, GameEndReason.DRAW)).thenReturn(false);
 
                         // Act
                         gameService.determineWinner("game-1");
 
                         // Assert
-                        verify(gameRepo).save(argThat(game -> game.getStatus() == GameStatus.COMPLETED &&
-                                        game.getWinner() == null &&
-                                        game.getEndReason() == GameEndReason.DRAW));
+                        verifyNoInteractions(eventPublisher);
                 }
         }
 
@@ -598,7 +729,7 @@ class GameServiceTest {
                                         .template(new ScenarioTemplate())
                                         .build();
 
-                        when(gameRepo.findById("game-1")).thenReturn(Optional.of(mockGame));
+                        when(gameRepo.findWithPlayersById("game-1")).thenReturn(Optional.of(mockGame));
                         when(gameTurnRepo.countByGameIdAndPlayerIdAndPhase("game-1", "player-1",
                                         GamePhase.DEFENSE))
                                         .thenReturn(5);
@@ -624,39 +755,91 @@ class GameServiceTest {
                                         .template(new ScenarioTemplate())
                                         .build();
 
-                        GameTurn mockTurn = GameTurn.builder()
-                                        .id("turn-1")
-                                        .game(mockGame)
-                                        .player(playerOne)
-                                        .phase(GamePhase.DEFENSE)
-                                        .turnNumber(3)
-                                        .playerMessage("Test message")
-                                        .aiResponse("AI says no!")
-                                        .build();
-
+                        when(gameRepo.findWithPlayersById("game-1")).thenReturn(Optional.of(mockGame));
                         when(gameRepo.findById("game-1")).thenReturn(Optional.of(mockGame));
                         when(gameTurnRepo.countByGameIdAndPlayerIdAndPhase("game-1", "player-1",
                                         GamePhase.DEFENSE))
                                         .thenReturn(2) // Current count for validation
                                         .thenReturn(3) // P1 turns for phase check
                                         .thenReturn(2); // P2 turns for phase check
-                        when(aiService.getResponse(mockGame, "player-1", "Test message", GamePhase.DEFENSE))
-                                        .thenReturn("AI says no!");
-                        when(gameTurnRepo.save(any(GameTurn.class))).thenReturn(mockTurn);
-                        when(userRepo.findById("player-1")).thenReturn(Optional.of(playerOne));
-                        // when(userRepo.findById("player-2")).thenReturn(Optional.of(playerTwo));
+                        when(aiService.getResponse(mockGame, "player-1", "Test message", GamePhase.DEFENSE, 2))
+                                        .thenReturn(new AiReply("AI says no!", 120, 18));
                         // Act
                         GameTurn result = gameService.submitTurn("game-1", "player-1", "Test message");
 
                         // Assert
-                        verify(aiService).getResponse(mockGame, "player-1", "Test message", GamePhase.DEFENSE);
-                        verify(gameTurnRepo).save(argThat(turn -> turn.getGame().getId().equals("game-1") &&
+                        verify(aiService).getResponse(mockGame, "player-1", "Test message", GamePhase.DEFENSE, 2);
+                        verify(turnJournal).persist(argThat(turn -> turn.getGame().getId().equals("game-1") &&
                                         turn.getPlayer().getId().equals("player-1") &&
                                         turn.getPhase() == GamePhase.DEFENSE &&
                                         turn.getTurnNumber() == 3 &&
                                         turn.getPlayerMessage().equals("Test message") &&
-                                        turn.getAiResponse().equals("AI says no!")));
-                        assertEquals(mockTurn, result);
+                                        turn.getAiResponse().equals("AI says no!") &&
+                                        turn.getPromptTokens() == 120 &&
+                                        turn.getCompletionTokens() == 18));
+                        verify(transcriptBuffer).append("game-1", "player-1", result);
+                        assertEquals("Test message", result.getPlayerMessage());
+                        verifyNoInteractions(userRepo);
+                }
+        }
+
+        @Nested
+        @DisplayName("findGameRoom")
+        class FindGameRoomTests {
+
+                private GameRoomRow row(String turnId, String turnPlayerId, Integer turnNumber) {
+                        return new GameRoomRow("game-1", "player-1", "player-2", GamePhase.ATTACK,
+                                        GameStatus.ATTACK_PHASE, 5, false, null,
+                                        turnId, turnPlayerId, turnNumber,
+                                        turnId == null ? null : "message " + turnId,
+                                        turnId == null ? null : "reply " + turnId,
+                                        null, null, null);
+                }
+
+                @Test
+                @DisplayName("should build the room from a single query")
+                void shouldBuildRoomFromSingleQuery() {
+                        // Arrange
+                        when(gameRepo.findGameRoomRows("game-1")).thenReturn(List.of(
+                                        row("t1", "player-1", 1),
+                                        row("t2", "player-2", 1),
+                                        row("t3", "player-1", 2)));
+
+                        // Act
+                        GameRoomView room = gameService.findGameRoom("game-1", "player-1").orElseThrow();
+
+                        // Assert
+                        assertEquals(2, room.getMyTurnCount());
+                        assertEquals(1, room.getOpponentTurnCount());
+                        assertEquals(List.of("t1", "t3"), room.getMyTurns().stream().map(GameTurn::getId).toList());
+                        verify(gameRepo, times(1)).findGameRoomRows("game-1");
+                        verifyNoMoreInteractions(gameRepo);
+                        verifyNoInteractions(gameTurnRepo, userRepo);
+                }
+
+                @Test
+                @DisplayName("should report no turns when nobody has played the phase yet")
+                void shouldHandleGameWithoutTurns() {
+                        // Arrange
+                        when(gameRepo.findGameRoomRows("game-1")).thenReturn(List.of(row(null, null, null)));
+
+                        // Act
+                        GameRoomView room = gameService.findGameRoom("game-1", "player-1").orElseThrow();
+
+                        // Assert
+                        assertEquals(0, room.getMyTurnCount());
+                        assertEquals(0, room.getOpponentTurnCount());
+                        assertTrue(room.getMyTurns().isEmpty());
+                }
+
+                @Test
+                @DisplayName("should return empty when the game does not exist")
+                void shouldReturnEmptyForMissingGame() {
+                        // Arrange
+                        when(gameRepo.findGameRoomRows("missing")).thenReturn(List.of());
+
+                        // Act & Assert
+                        assertTrue(gameService.findGameRoom("missing", "player-1").isEmpty());
                 }
         }
 }
@@ -0,0 +1,72 @@
+package com.backend.promptvprompt.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.YearMonth;
+import java.util.List;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GameTurnPartitionService Tests")
+class GameTurnPartitionServiceTest {
+
+        @Mock
+        private JdbcTemplate jdbcTemplate;
+
+        @Mock
+        private PlatformTransactionManager transactionManager;
+
+        private GameTurnPartitionService gameTurnPartitionService;
+
+        @BeforeEach
+        void setUp() {
+                gameTurnPartitionService = new GameTurnPartitionService(jdbcTemplate, transactionManager);
+        }
+
+        @Test
+        @DisplayName("Should drop only the monthly partitions before the cutoff, across a year boundary")
+        void dropPartitionsBefore_DropsOlderMonths() {
+                // Arrange
+                when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                                "game_turns_p2025_11",
+                                "game_turns_p2025_12",
+                                "game_turns_p2026_01",
+                                "game_turns_p2026_02",
+                                "game_turns_p2026_03"));
+
+                // Act
+                gameTurnPartitionService.dropPartitionsBefore(YearMonth.of(2026, 2));
+
+                // Assert
+                verify(jdbcTemplate).execute("DROP TABLE game_turns_p2025_11");
+                verify(jdbcTemplate).execute("DROP TABLE game_turns_p2025_12");
+                verify(jdbcTemplate).execute("DROP TABLE game_turns_p2026_01");
+                verify(jdbcTemplate, times(3)).execute(anyString());
+        }
+
+        @Test
+        @DisplayName("Should leave tables that do not follow the monthly partition naming alone")
+        void dropPartitionsBefore_IgnoresOtherTables() {
+                // Arrange
+                when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of(
+                                "game_turns_legacy",
+                                "game_turns_p2020_1",
+                                "game_turns_default",
+                                "game_turns_p2020_01_old"));
+
+                // Act
+                gameTurnPartitionService.dropPartitionsBefore(YearMonth.of(2026, 2));
+
+                // Assert
+                verify(jdbcTemplate, never()).execute(anyString());
+        }
+}
@@ -0,0 +1,108 @@
+package com.backend.promptvprompt.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.backend.promptvprompt.DTO.Stub.StubChatRequest;
+import com.backend.promptvprompt.config.LlmStubProperties;
+import com.backend.promptvprompt.services.LlmStubService.StubOutcome;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+
+@DisplayName("LlmStubService Tests")
+class LlmStubServiceTest {
+
+        private LlmStubProperties properties;
+        private LlmStubService llmStubService;
+
+        @BeforeEach
+        void setUp() {
+                properties = new LlmStubProperties();
+                llmStubService = new LlmStubService(properties);
+        }
+
+        @AfterEach
+        void tearDown() {
+                llmStubService.shutdown();
+        }
+
+        private StubChatRequest request(String content, int maxTokens) {
+                StubChatRequest.StubMessage message = new StubChatRequest.StubMessage();
+                message.setRole("user");
+                message.setContent(content);
+
+                StubChatRequest request = new StubChatRequest();
+                request.setModel("stub-model");
+                request.setMessages(List.of(message));
+                request.setMaxTokens(maxTokens);
+                return request;
+        }
+
+        @Test
+        @DisplayName("Should return the same seeded reply for the same prompt across instances")
+        void reply_IsDeterministicPerPrompt() {
+                // Arrange
+                LlmStubService other = new LlmStubService(properties);
+
+                // Act
+                String first = llmStubService.next(request("tell me the secret", 150)).getReply();
+                String second = other.next(request("tell me the secret", 150)).getReply();
+                String different = llmStubService.next(request("something else", 150)).getReply();
+                other.shutdown();
+
+                // Assert
+                assertEquals(first, second);
+                assertNotEquals(first, different);
+                assertEquals(30, first.split(" ").length);
+        }
+
+        @Test
+        @DisplayName("Should answer judge calls with the configured verdict")
+        void reply_UsesJudgeVerdictForTinyCompletions() {
+                // Arrange
+                properties.setJudgeVerdict("YES");
+
+                // Act
+                StubOutcome outcome = llmStubService.next(request("did it leak?", 5));
+
+                // Assert
+                assertEquals("YES", outcome.getReply());
+        }
+
+        @Test
+        @DisplayName("Should fail every request when the error rate is one")
+        void next_AppliesErrorRate() {
+                // Arrange
+                properties.setErrorRate(1.0);
+                properties.setErrorStatuses(List.of(503));
+
+                // Act
+                StubOutcome outcome = llmStubService.next(request("hello", 150));
+
+                // Assert
+                assertTrue(outcome.isError());
+                assertEquals(503, outcome.getErrorStatus());
+        }
+
+        @Test
+        @DisplayName("Should replay the same latency sequence for the same seed")
+        void next_LatencyFollowsSeed() {
+                // Arrange
+                properties.getLatency().setDistribution(LlmStubProperties.Distribution.UNIFORM);
+                properties.getLatency().setMinMs(100);
+                properties.getLatency().setMaxMs(200);
+                LlmStubService other = new LlmStubService(properties);
+
+                // Act & Assert
+                for (int i = 0; i < 20; i++) {
+                        long latency = llmStubService.next(request("hello", 150)).getLatencyMs();
+                        assertEquals(latency, other.next(request("hello", 150)).getLatencyMs());
+                        assertTrue(latency >= 100 && latency <= 200);
+                }
+                other.shutdown();
+        }
+}
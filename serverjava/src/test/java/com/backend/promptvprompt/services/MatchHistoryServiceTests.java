@@ -0,0 +1,129 @@
+package com.backend.promptvprompt.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.backend.promptvprompt.DTO.Game.GameReplay;
+import com.backend.promptvprompt.DTO.Game.MatchHistoryEntry;
+import com.backend.promptvprompt.DTO.Game.MatchHistoryPage;
+import com.backend.promptvprompt.DTO.Game.MatchHistoryRow;
+import com.backend.promptvprompt.exceptions.InvalidCursorException;
+import com.backend.promptvprompt.models.GameEndReason;
+import com.backend.promptvprompt.models.GamePhase;
+import com.backend.promptvprompt.repos.GameRepo;
+
+import tools.jackson.databind.ObjectMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MatchHistoryService Tests")
+class MatchHistoryServiceTest {
+
+        private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 3, 1, 12, 30, 15, 123456000);
+
+        @Mock
+        private GameRepo gameRepo;
+
+        @Mock
+        private ReplayExportService replayExportService;
+
+        private MatchHistoryService matchHistoryService;
+
+        @BeforeEach
+        void setUp() {
+                matchHistoryService = new MatchHistoryService(gameRepo, replayExportService, new ObjectMapper());
+        }
+
+        private MatchHistoryRow row(String gameId, String winnerId) {
+                return new MatchHistoryRow(gameId, CREATED_AT, CREATED_AT.plusMinutes(10), "Heist",
+                                "user-1", "Alice", "user-2", "Bob", winnerId, GameEndReason.FULL_CONVICTION);
+        }
+
+        @Test
+        @DisplayName("Should map rows to the requesting player's view and hand out a cursor when more games exist")
+        void history_ReturnsNextCursorWhenMoreGamesExist() {
+                // Arrange
+                when(gameRepo.findMatchHistoryIds(eq("user-2"), any(LocalDateTime.class), eq(""), eq(3)))
+                                .thenReturn(List.of("game-1", "game-2", "game-3"));
+                when(gameRepo.findMatchHistoryRows(List.of("game-1", "game-2")))
+                                .thenReturn(List.of(row("game-1", "user-2"), row("game-2", null)));
+
+                // Act
+                MatchHistoryPage page = matchHistoryService.history("user-2", null, 2);
+
+                // Assert
+                MatchHistoryEntry first = page.getEntries().get(0);
+                assertEquals("user-1", first.getOpponentId());
+                assertEquals("Alice", first.getOpponentDisplayName());
+                assertEquals(MatchHistoryEntry.Result.WIN, first.getResult());
+                assertEquals(MatchHistoryEntry.Result.DRAW, page.getEntries().get(1).getResult());
+                assertNotNull(page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should seek from the last game of the previous page")
+        void history_SeeksFromCursor() {
+                // Arrange
+                when(gameRepo.findMatchHistoryIds(eq("user-1"), any(LocalDateTime.class), anyString(), eq(3)))
+                                .thenReturn(List.of("game-1", "game-2", "game-3"));
+                when(gameRepo.findMatchHistoryRows(anyList()))
+                                .thenReturn(List.of(row("game-1", "user-1"), row("game-2", "user-2")));
+                String cursor = matchHistoryService.history("user-1", null, 2).getNextCursor();
+                when(gameRepo.findMatchHistoryIds("user-1", CREATED_AT, "game-2", 3)).thenReturn(List.of());
+
+                // Act
+                MatchHistoryPage page = matchHistoryService.history("user-1", cursor, 2);
+
+                // Assert
+                verify(gameRepo).findMatchHistoryIds("user-1", CREATED_AT, "game-2", 3);
+                assertTrue(page.getEntries().isEmpty());
+                assertNull(page.getNextCursor());
+        }
+
+        @Test
+        @DisplayName("Should reject a cursor it did not issue")
+        void history_RejectsMalformedCursor() {
+                // Act & Assert
+                assertThrows(InvalidCursorException.class, () -> matchHistoryService.history("user-1", "not*base64", 2));
+                verifyNoInteractions(gameRepo);
+        }
+
+        @Test
+        @DisplayName("Should bind a rendered replay for its players only")
+        void replay_BindsRenderedGameForPlayers() {
+                // Arrange
+                String json = """
+                                {"gameId":"game-1","createdAt":"2026-03-01T12:30:15.123456",\
+                                "completedAt":"2026-03-01T12:40:00","templateId":"tpl-1","playerOneId":"user-1",\
+                                "playerTwoId":"user-2","winnerId":null,"endReason":"DRAW","character":"",\
+                                "secret":"","playerOneAiHp":40,"playerTwoAiHp":40,"turns":[{"id":"turn-1",\
+                                "playerId":"user-1","phase":"DEFENSE","turnNumber":1,"playerMessage":"hi",\
+                                "aiResponse":"hello","promptTokens":null,"completionTokens":12,\
+                                "createdAt":"2026-03-01T12:31:00"}]}""";
+                when(replayExportService.renderGame("game-1"))
+                                .thenReturn(Optional.of(json.getBytes(StandardCharsets.UTF_8)));
+
+                // Act
+                Optional<GameReplay> replay = matchHistoryService.replay("user-2", "game-1");
+                Optional<GameReplay> hidden = matchHistoryService.replay("user-3", "game-1");
+
+                // Assert
+                assertTrue(replay.isPresent());
+                assertEquals(CREATED_AT, replay.get().getCreatedAt());
+                assertEquals(1, replay.get().getTurns().size());
+                assertEquals(GamePhase.DEFENSE, replay.get().getTurns().get(0).getPhase());
+                assertTrue(hidden.isEmpty());
+        }
+}
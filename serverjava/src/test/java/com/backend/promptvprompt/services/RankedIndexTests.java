@@ -0,0 +1,88 @@
+package com.backend.promptvprompt.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.backend.promptvprompt.DTO.Leaderboard.LeaderboardEntry;
+import com.backend.promptvprompt.DTO.Leaderboard.PlayerStanding;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@DisplayName("RankedIndex Tests")
+class RankedIndexTest {
+
+        private RankedIndex index;
+
+        @BeforeEach
+        void setUp() {
+                index = new RankedIndex();
+                index.upsert(new PlayerStanding("alice", "Alice", 3, 0, 1)); // 10 points
+                index.upsert(new PlayerStanding("bob", "Bob", 2, 1, 0)); // 6 points
+                index.upsert(new PlayerStanding("carol", "Carol", 1, 0, 3)); // 6 points
+                index.upsert(new PlayerStanding("dave", "Dave", 0, 4, 0)); // 0 points
+        }
+
+        @Test
+        @DisplayName("Should share ranks between players on equal points")
+        void entry_UsesCompetitionRanking() {
+                // Act & Assert
+                assertEquals(1, index.entry("alice").getRank());
+                assertEquals(2, index.entry("bob").getRank());
+                assertEquals(2, index.entry("carol").getRank());
+                assertEquals(4, index.entry("dave").getRank());
+                assertNull(index.entry("nobody"));
+        }
+
+        @Test
+        @DisplayName("Should start a page part way through a group of tied players")
+        void page_StartsInsideTie() {
+                // Act
+                List<LeaderboardEntry> page = index.page(2, 5);
+
+                // Assert
+                assertEquals(List.of("carol", "dave"), page.stream().map(LeaderboardEntry::getUserId).toList());
+                assertTrue(index.page(4, 5).isEmpty());
+        }
+
+        @Test
+        @DisplayName("Should move a player when their record changes, including past the initial score range")
+        void upsert_ReplacesPreviousStanding() {
+                // Arrange
+                index.upsert(new PlayerStanding("dave", "Dave", 400, 4, 0)); // 1200 points
+
+                // Act
+                List<LeaderboardEntry> page = index.page(0, 2);
+
+                // Assert
+                assertEquals(4, index.size());
+                assertEquals(List.of("dave", "alice"), page.stream().map(LeaderboardEntry::getUserId).toList());
+                assertEquals(3, index.entry("carol").getRank());
+        }
+
+        @Test
+        @DisplayName("Should page through a large block of tied players in leaderboard order")
+        void page_MatchesFullOrderInsideLargeTie() {
+                // Arrange
+                RankedIndex tied = new RankedIndex();
+                List<String> expected = new ArrayList<>();
+                for (int i = 0; i < 500; i++) {
+                        String userId = String.format("user-%03d", i);
+                        tied.upsert(new PlayerStanding(userId, userId, 2, i, 0)); // 6 points
+                        expected.add(userId);
+                }
+                tied.upsert(new PlayerStanding("user-250", "user-250", 3, 0, 0)); // 9 points
+                expected.remove("user-250");
+                expected.add(0, "user-250");
+
+                // Act & Assert
+                for (int offset = 0; offset < 500; offset += 37) {
+                        List<String> page = tied.page(offset, 20).stream().map(LeaderboardEntry::getUserId).toList();
+                        assertEquals(expected.subList(offset, Math.min(offset + 20, 500)), page);
+                }
+                assertEquals(2, tied.page(1, 1).get(0).getRank());
+        }
+}
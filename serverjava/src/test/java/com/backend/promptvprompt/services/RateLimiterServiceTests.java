@@ -0,0 +1,83 @@
+package com.backend.promptvprompt.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.backend.promptvprompt.config.RateLimitProperties;
+import com.backend.promptvprompt.config.RateLimitProperties.Limit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@DisplayName("RateLimiterService Tests")
+class RateLimiterServiceTest {
+
+        private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+        private RateLimiterService rateLimiterService;
+        private Limit fivePerTenSeconds;
+
+        @BeforeEach
+        void setUp() {
+                rateLimiterService = new RateLimiterService(new RateLimitProperties());
+                fivePerTenSeconds = new Limit(5, Duration.ofSeconds(10));
+        }
+
+        @Test
+        @DisplayName("should admit a full burst and reject the next request")
+        void shouldAdmitBurstThenReject() {
+                long now = 1_000 * SECOND;
+
+                for (int i = 0; i < 5; i++) {
+                        assertTrue(rateLimiterService.tryAcquire("key", fivePerTenSeconds, now));
+                }
+                assertFalse(rateLimiterService.tryAcquire("key", fivePerTenSeconds, now));
+        }
+
+        @Test
+        @DisplayName("should refill one request per emission interval")
+        void shouldRefillGradually() {
+                long now = 1_000 * SECOND;
+                for (int i = 0; i < 5; i++) {
+                        rateLimiterService.tryAcquire("key", fivePerTenSeconds, now);
+                }
+
+                // One request every 2 seconds at 5 per 10 seconds
+                assertFalse(rateLimiterService.tryAcquire("key", fivePerTenSeconds, now + SECOND));
+                assertTrue(rateLimiterService.tryAcquire("key", fivePerTenSeconds, now + 2 * SECOND));
+                assertFalse(rateLimiterService.tryAcquire("key", fivePerTenSeconds, now + 2 * SECOND));
+        }
+
+        @Test
+        @DisplayName("should track keys independently")
+        void shouldTrackKeysIndependently() {
+                long now = 1_000 * SECOND;
+                for (int i = 0; i < 5; i++) {
+                        rateLimiterService.tryAcquire("user:a", fivePerTenSeconds, now);
+                }
+
+                assertFalse(rateLimiterService.tryAcquire("user:a", fivePerTenSeconds, now));
+                assertTrue(rateLimiterService.tryAcquire("user:b", fivePerTenSeconds, now));
+        }
+
+        @Test
+        @DisplayName("should pick the most specific matching destination pattern")
+        void shouldPickMostSpecificPattern() {
+                Map<String, Limit> limits = new LinkedHashMap<>();
+                limits.put("/app/**", new Limit(60, Duration.ofMinutes(1)));
+                limits.put("/app/game/*/submit-turn", new Limit(10, Duration.ofMinutes(1)));
+
+                var match = rateLimiterService.findLimit(limits, "/app/game/game-1/submit-turn");
+                var fallback = rateLimiterService.findLimit(limits, "/app/joinQueue");
+                var none = rateLimiterService.findLimit(limits, "/topic/anything");
+
+                assertEquals("/app/game/*/submit-turn", match.orElseThrow().getKey());
+                assertEquals("/app/**", fallback.orElseThrow().getKey());
+                assertTrue(none.isEmpty());
+        }
+}
@@ -0,0 +1,95 @@
+package com.backend.promptvprompt.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.backend.promptvprompt.repos.RefreshTokenRepo;
+import com.backend.promptvprompt.repos.UserRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RefreshTokenService Tests")
+class RefreshTokenServiceTest {
+
+        @Mock
+        private RefreshTokenRepo refreshTokenRepo;
+
+        @Mock
+        private UserRepo userRepo;
+
+        private SimpleMeterRegistry meterRegistry;
+        private RefreshTokenService refreshTokenService;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                refreshTokenService = new RefreshTokenService(refreshTokenRepo, userRepo, meterRegistry);
+                ReflectionTestUtils.setField(refreshTokenService, "cleanupBatchSize", 100);
+                ReflectionTestUtils.setField(refreshTokenService, "cleanupMaxBatchesPerRun", 5);
+                ReflectionTestUtils.setField(refreshTokenService, "cleanupPauseMs", 0L);
+                refreshTokenService.registerMetrics();
+        }
+
+        @Test
+        @DisplayName("Should keep deleting batches until a partial batch is returned")
+        void cleanupExpiredTokens_StopsOnPartialBatch() {
+                // Arrange
+                when(refreshTokenRepo.deleteExpiredTokensBatch(any(LocalDateTime.class), eq(100)))
+                                .thenReturn(100)
+                                .thenReturn(100)
+                                .thenReturn(42);
+
+                // Act
+                refreshTokenService.cleanupExpiredTokens();
+
+                // Assert
+                verify(refreshTokenRepo, times(3)).deleteExpiredTokensBatch(any(LocalDateTime.class), eq(100));
+                assertEquals(242.0, meterRegistry.counter("refresh_tokens.cleanup.deleted").count());
+                assertEquals(242.0, meterRegistry.get("refresh_tokens.cleanup.last_run.deleted").gauge().value());
+        }
+
+        @Test
+        @DisplayName("Should stop after the configured number of batches per run")
+        void cleanupExpiredTokens_RespectsMaxBatchesPerRun() {
+                // Arrange
+                when(refreshTokenRepo.deleteExpiredTokensBatch(any(LocalDateTime.class), eq(100)))
+                                .thenReturn(100);
+
+                // Act
+                refreshTokenService.cleanupExpiredTokens();
+
+                // Assert
+                verify(refreshTokenRepo, times(5)).deleteExpiredTokensBatch(any(LocalDateTime.class), eq(100));
+                assertEquals(500.0, meterRegistry.counter("refresh_tokens.cleanup.deleted").count());
+        }
+
+        @Test
+        @DisplayName("Should use the same cutoff for every batch in a run")
+        void cleanupExpiredTokens_UsesSingleCutoff() {
+                // Arrange
+                when(refreshTokenRepo.deleteExpiredTokensBatch(any(LocalDateTime.class), eq(100)))
+                                .thenReturn(100)
+                                .thenReturn(0);
+
+                // Act
+                refreshTokenService.cleanupExpiredTokens();
+
+                // Assert
+                ArgumentCaptor<LocalDateTime> cutoffCaptor = ArgumentCaptor.forClass(LocalDateTime.class);
+                verify(refreshTokenRepo, times(2)).deleteExpiredTokensBatch(cutoffCaptor.capture(), eq(100));
+                assertEquals(cutoffCaptor.getAllValues().get(0), cutoffCaptor.getAllValues().get(1));
+        }
+}
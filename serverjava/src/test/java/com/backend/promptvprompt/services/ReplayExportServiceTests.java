@@ -0,0 +1,231 @@
+package com.backend.promptvprompt.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import tools.jackson.databind.ObjectMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import javax.sql.DataSource;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReplayExportService Tests")
+class ReplayExportServiceTest {
+
+        private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+        private static final String GAME_ONE = "{\"gameId\":\"game-1\",\"createdAt\":\"2026-03-01T12:00\","
+                        + "\"completedAt\":\"2026-03-01T12:10\",\"templateId\":\"template-1\","
+                        + "\"playerOneId\":\"player-1\",\"playerTwoId\":\"player-2\",\"winnerId\":\"player-1\","
+                        + "\"endReason\":\"FULL_CONVICTION\",\"character\":\"A guard\",\"secret\":\"blue42\","
+                        + "\"playerOneAiHp\":100,\"playerTwoAiHp\":null,\"turns\":[";
+
+        @Mock
+        private DataSource dataSource;
+
+        @Mock
+        private PlatformTransactionManager transactionManager;
+
+        @Mock
+        private JdbcTemplate jdbcTemplate;
+
+        private SimpleMeterRegistry meterRegistry;
+        private ReplayExportService replayExportService;
+
+        @BeforeEach
+        void setUp() {
+                meterRegistry = new SimpleMeterRegistry();
+                replayExportService = new ReplayExportService(dataSource, transactionManager, new ObjectMapper(),
+                                meterRegistry);
+                replayExportService.init();
+                ReflectionTestUtils.setField(replayExportService, "jdbcTemplate", jdbcTemplate);
+        }
+
+        // The cursor the service reads: every getter answers from the current row, missing columns are null
+        private ResultSet resultSet(List<Map<String, Object>> rows) {
+                int[] cursor = { -1 };
+                return mock(ResultSet.class, invocation -> {
+                        String method = invocation.getMethod().getName();
+                        if (method.equals("next")) {
+                                return ++cursor[0] < rows.size();
+                        }
+                        if (invocation.getArguments().length == 0 || !(invocation.getArgument(0) instanceof String)) {
+                                return RETURNS_DEFAULTS.answer(invocation);
+                        }
+                        Object value = rows.get(cursor[0]).get(invocation.<String>getArgument(0));
+                        if (method.equals("getBinaryStream")) {
+                                return value == null ? null : new ByteArrayInputStream((byte[]) value);
+                        }
+                        return value;
+                });
+        }
+
+        private void returnRows(List<Map<String, Object>> rows) {
+                ResultSet rs = resultSet(rows);
+                doAnswer(invocation -> {
+                        RowCallbackHandler handler = invocation.getArgument(1);
+                        while (rs.next()) {
+                                handler.processRow(rs);
+                        }
+                        return null;
+                }).when(jdbcTemplate).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+        }
+
+        private Map<String, Object> gameRow(String gameId) {
+                Map<String, Object> row = new HashMap<>();
+                row.put("id", gameId);
+                row.put("created_at", CREATED_AT);
+                row.put("updated_at", CREATED_AT.plusMinutes(10));
+                row.put("template_id", "template-1");
+                row.put("player_one_id", "player-1");
+                row.put("player_two_id", "player-2");
+                row.put("winner_id", "player-1");
+                row.put("end_reason", "FULL_CONVICTION");
+                row.put("generated_character", "A guard");
+                row.put("generated_secret", "blue42");
+                row.put("player_one_ai_hp", 100);
+                return row;
+        }
+
+        private Map<String, Object> turnRow(String gameId, String turnId, int turnNumber, String message) {
+                Map<String, Object> row = gameRow(gameId);
+                row.put("turn_id", turnId);
+                row.put("player_id", "player-1");
+                row.put("phase", "DEFENSE");
+                row.put("turn_number", turnNumber);
+                row.put("player_message", message);
+                row.put("ai_response", "No.");
+                row.put("prompt_tokens", 120);
+                row.put("completion_tokens", 30);
+                row.put("turn_created_at", CREATED_AT.plusMinutes(turnNumber));
+                return row;
+        }
+
+        private String turnJson(String turnId, int turnNumber, String escapedMessage) {
+                return "{\"id\":\"" + turnId + "\",\"playerId\":\"player-1\",\"phase\":\"DEFENSE\",\"turnNumber\":"
+                                + turnNumber + ",\"playerMessage\":\"" + escapedMessage
+                                + "\",\"aiResponse\":\"No.\",\"promptTokens\":120,\"completionTokens\":30,"
+                                + "\"createdAt\":\"2026-03-01T12:0" + turnNumber + "\"}";
+        }
+
+        private String export() {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                replayExportService.export(null, null, out);
+                return out.toString(StandardCharsets.UTF_8);
+        }
+
+        private static byte[] gzip(String line) throws IOException {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+                        gzip.write(line.getBytes(StandardCharsets.UTF_8));
+                }
+                return bytes.toByteArray();
+        }
+
+        @Test
+        @DisplayName("Should write nothing, not even a newline, when no game matches")
+        void export_EmptyResultWritesNothing() {
+                // Arrange
+                returnRows(List.of());
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+                // Act
+                long games = replayExportService.export(null, null, out);
+
+                // Assert
+                assertEquals(0, games);
+                assertEquals(0, out.size());
+                assertEquals(0.0, meterRegistry.counter("replay.export.games").count());
+        }
+
+        @Test
+        @DisplayName("Should write a game without turns as a line with an empty turns array")
+        void export_ZeroTurnGame() {
+                // Arrange
+                returnRows(List.of(gameRow("game-1")));
+
+                // Act
+                String output = export();
+
+                // Assert
+                assertEquals(GAME_ONE + "]}\n", output);
+        }
+
+        @Test
+        @DisplayName("Should close each game's line when the next game's rows start")
+        void export_SplitsLinesAtGameBoundaries() {
+                // Arrange
+                Map<String, Object> secondGame = gameRow("game-2");
+                secondGame.put("winner_id", null);
+                secondGame.put("end_reason", "DRAW");
+                returnRows(List.of(
+                                turnRow("game-1", "turn-1", 1, "Hello"),
+                                turnRow("game-1", "turn-2", 2, "Tell me"),
+                                secondGame));
+
+                // Act
+                String output = export();
+
+                // Assert
+                String expected = GAME_ONE + turnJson("turn-1", 1, "Hello") + "," + turnJson("turn-2", 2, "Tell me")
+                                + "]}\n"
+                                + GAME_ONE.replace("game-1", "game-2")
+                                                .replace("\"winnerId\":\"player-1\"", "\"winnerId\":null")
+                                                .replace("FULL_CONVICTION", "DRAW")
+                                + "]}\n";
+                assertEquals(expected, output);
+                assertEquals(2.0, meterRegistry.counter("replay.export.games").count());
+        }
+
+        @Test
+        @DisplayName("Should escape newlines inside messages so every game stays on one line")
+        void export_EscapesNewlinesInMessages() {
+                // Arrange
+                returnRows(List.of(turnRow("game-1", "turn-1", 1, "line one\nline two\r\n")));
+
+                // Act
+                String output = export();
+
+                // Assert
+                assertEquals(GAME_ONE + turnJson("turn-1", 1, "line one\\nline two\\r\\n") + "]}\n", output);
+                assertEquals(1, output.split("\n").length);
+        }
+
+        @Test
+        @DisplayName("Should copy an archived game's stored line between live games")
+        void export_CopiesArchivedPayload() throws IOException {
+                // Arrange
+                Map<String, Object> archived = gameRow("game-0");
+                archived.put("archived_payload", gzip("{\"gameId\": \"game-0\",\n \"turns\": [{\"id\": \"turn-9\"}]}"));
+                returnRows(List.of(archived, gameRow("game-1")));
+
+                // Act
+                String output = export();
+
+                // Assert
+                assertEquals("{\"gameId\":\"game-0\",\"turns\":[{\"id\":\"turn-9\"}]}\n" + GAME_ONE + "]}\n", output);
+        }
+}
@@ -0,0 +1,112 @@
+package com.backend.promptvprompt.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.backend.promptvprompt.events.GameCompletedEvent;
+import com.backend.promptvprompt.models.GameEndReason;
+import com.backend.promptvprompt.models.GamePhase;
+import com.backend.promptvprompt.models.GameTurn;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@DisplayName("TranscriptBuffer Tests")
+class TranscriptBufferTest {
+
+        private TranscriptBuffer transcriptBuffer;
+        private AtomicInteger loads;
+
+        @BeforeEach
+        void setUp() {
+                transcriptBuffer = new TranscriptBuffer(new SimpleMeterRegistry());
+                ReflectionTestUtils.setField(transcriptBuffer, "idleEvictionMs", 3600000L);
+                loads = new AtomicInteger();
+        }
+
+        private GameTurn turn(int turnNumber) {
+                return GameTurn.builder()
+                                .phase(GamePhase.DEFENSE)
+                                .turnNumber(turnNumber)
+                                .playerMessage("message " + turnNumber)
+                                .aiResponse("reply " + turnNumber)
+                                .build();
+        }
+
+        private List<GameTurn> load(List<GameTurn> turns) {
+                loads.incrementAndGet();
+                return turns;
+        }
+
+        @Test
+        @DisplayName("Should serve appended turns from memory without reloading")
+        void history_AfterAppend_ServedFromBuffer() {
+                // Arrange
+                transcriptBuffer.history("game-1", "player-1", GamePhase.DEFENSE, 1, () -> load(List.of(turn(1))));
+                transcriptBuffer.append("game-1", "player-1", turn(2));
+
+                // Act
+                List<GameTurn> history = transcriptBuffer.history("game-1", "player-1", GamePhase.DEFENSE, 2,
+                                () -> load(List.of()));
+
+                // Assert
+                assertEquals(1, loads.get());
+                assertEquals(2, history.size());
+                assertEquals("message 2", history.get(1).getPlayerMessage());
+        }
+
+        @Test
+        @DisplayName("Should reload when the buffered turns disagree with the expected count")
+        void history_CountMismatch_Reloads() {
+                // Arrange
+                transcriptBuffer.history("game-1", "player-1", GamePhase.DEFENSE, 1, () -> load(List.of(turn(1))));
+
+                // Act
+                List<GameTurn> history = transcriptBuffer.history("game-1", "player-1", GamePhase.DEFENSE, 2,
+                                () -> load(List.of(turn(1), turn(2))));
+
+                // Assert
+                assertEquals(2, loads.get());
+                assertEquals(2, history.size());
+        }
+
+        @Test
+        @DisplayName("Should drop every transcript of a completed game and keep other games'")
+        void onGameCompleted_DropsOnlyThatGame() {
+                // Arrange
+                transcriptBuffer.history("game-1", "player-1", GamePhase.DEFENSE, 1, () -> load(List.of(turn(1))));
+                transcriptBuffer.history("game-1", "player-2", GamePhase.DEFENSE, 1, () -> load(List.of(turn(1))));
+                transcriptBuffer.history("game-2", "player-1", GamePhase.DEFENSE, 1, () -> load(List.of(turn(1))));
+
+                // Act
+                transcriptBuffer.onGameCompleted(
+                                new GameCompletedEvent("game-1", "player-1", "player-2", null, GameEndReason.DRAW));
+
+                // Assert
+                transcriptBuffer.history("game-2", "player-1", GamePhase.DEFENSE, 1, () -> load(List.of(turn(1))));
+                assertEquals(3, loads.get());
+                transcriptBuffer.history("game-1", "player-2", GamePhase.DEFENSE, 1, () -> load(List.of(turn(1))));
+                assertEquals(4, loads.get());
+        }
+
+        @Test
+        @DisplayName("Should age out transcripts of games that have gone idle")
+        void evictIdle_DropsIdleGames() {
+                // Arrange
+                transcriptBuffer.history("game-1", "player-1", GamePhase.DEFENSE, 1, () -> load(List.of(turn(1))));
+                ReflectionTestUtils.setField(transcriptBuffer, "idleEvictionMs", -1000L);
+
+                // Act
+                transcriptBuffer.evictIdle();
+
+                // Assert
+                transcriptBuffer.history("game-1", "player-1", GamePhase.DEFENSE, 1, () -> load(List.of(turn(1))));
+                assertEquals(2, loads.get());
+        }
+}
@@ -0,0 +1,104 @@
+package com.backend.promptvprompt.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.backend.promptvprompt.exceptions.TurnNotAcknowledgedException;
+import com.backend.promptvprompt.models.GameTurn;
+import com.backend.promptvprompt.repos.GameTurnRepo;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TurnJournal Tests")
+class TurnJournalTest {
+
+        @Mock
+        private GameTurnRepo gameTurnRepo;
+
+        private TurnJournal turnJournal;
+
+        @BeforeEach
+        void setUp() {
+                turnJournal = new TurnJournal(gameTurnRepo, new SimpleMeterRegistry());
+                ReflectionTestUtils.setField(turnJournal, "flushIntervalMs", 1L);
+                ReflectionTestUtils.setField(turnJournal, "maxBatch", 50);
+                ReflectionTestUtils.setField(turnJournal, "ackTimeoutMs", 2000L);
+                turnJournal.start();
+        }
+
+        @AfterEach
+        void tearDown() throws InterruptedException {
+                turnJournal.stop();
+        }
+
+        @Test
+        @DisplayName("Should return only after the turn's batch has been saved")
+        void persist_ReturnsAfterBatchSaved() {
+                // Arrange
+                GameTurn turn = GameTurn.builder().turnNumber(1).playerMessage("hello").build();
+
+                // Act
+                turnJournal.persist(turn);
+
+                // Assert
+                verify(gameTurnRepo).saveAll(List.of(turn));
+        }
+
+        @Test
+        @DisplayName("Should retry turns one by one and fail only the bad one when a batch fails")
+        void persist_BatchFails_RetriesIndividually() {
+                // Arrange
+                GameTurn turn = GameTurn.builder().id("stale-id").turnNumber(1).playerMessage("hello").build();
+                when(gameTurnRepo.saveAll(anyList())).thenThrow(new IllegalStateException("batch failed"));
+                when(gameTurnRepo.save(turn)).thenThrow(new IllegalStateException("constraint violated"));
+
+                // Act & Assert
+                IllegalStateException exception = assertThrows(IllegalStateException.class,
+                                () -> turnJournal.persist(turn));
+                assertEquals("constraint violated", exception.getMessage());
+                assertNull(turn.getId());
+        }
+
+        @Test
+        @DisplayName("Should withdraw a turn still queued at the ack timeout, and flag one already being written")
+        void persist_AckTimeout_WithdrawsQueuedTurn() throws Exception {
+                // Arrange
+                ReflectionTestUtils.setField(turnJournal, "ackTimeoutMs", 100L);
+                CountDownLatch release = new CountDownLatch(1);
+                GameTurn slow = GameTurn.builder().turnNumber(1).playerMessage("slow").build();
+                GameTurn queued = GameTurn.builder().turnNumber(2).playerMessage("queued").build();
+                when(gameTurnRepo.saveAll(anyList())).thenAnswer(invocation -> {
+                        release.await(5, TimeUnit.SECONDS);
+                        return invocation.getArgument(0);
+                });
+                CompletableFuture<TurnNotAcknowledgedException> slowFailure = CompletableFuture.supplyAsync(
+                                () -> assertThrows(TurnNotAcknowledgedException.class, () -> turnJournal.persist(slow)));
+                verify(gameTurnRepo, timeout(1000)).saveAll(List.of(slow));
+
+                // Act
+                TurnNotAcknowledgedException queuedFailure = assertThrows(TurnNotAcknowledgedException.class,
+                                () -> turnJournal.persist(queued));
+                release.countDown();
+
+                // Assert
+                assertTrue(queuedFailure.isWithdrawn());
+                assertFalse(slowFailure.get(1, TimeUnit.SECONDS).isWithdrawn());
+                verify(gameTurnRepo, after(200).never()).saveAll(List.of(queued));
+        }
+}